@@ -0,0 +1,58 @@
+package com.task.poc.benchmark;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.repository.ScheduleStore;
+import com.task.poc.util.DeliveryClient;
+import com.task.poc.util.DeliveryResult;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process replacements for Mongo and the callback endpoint, so benchmarks measure only this code.
+ */
+final class BenchmarkStandIns {
+
+    private BenchmarkStandIns() {
+    }
+
+    /**
+     * A store holding the given pending schedules in memory. Every claim succeeds and every completion
+     * is acknowledged; methods the dispatcher does not use return null.
+     */
+    static ScheduleStore inMemoryStore(List<Schedule> pending) {
+        Map<String, Schedule> byId = pending.stream().collect(Collectors.toMap(Schedule::getId, Function.identity()));
+
+        return (ScheduleStore) Proxy.newProxyInstance(ScheduleStore.class.getClassLoader(),
+                new Class<?>[]{ScheduleStore.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamPendingSchedulesBetween", "streamReclaimableSchedules" -> pending.stream();
+                    case "countReclaimableSchedules" -> (long) pending.size();
+                    case "claimSchedule" -> byId.get((String) args[0]);
+                    case "completeSchedules" -> ((Collection<?>) args[0]).size();
+                    case "isLocal" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryScheduleStore";
+                    default -> null;
+                });
+    }
+
+    /**
+     * A delivery client that answers every call immediately with 200 and runs the given callback.
+     */
+    static DeliveryClient instantDeliveryClient(Runnable onDelivery) {
+        return new DeliveryClient() {
+            @Override
+            public CompletableFuture<DeliveryResult> post(String targetUrl, String scheduleId) {
+                onDelivery.run();
+                return CompletableFuture.completedFuture(new DeliveryResult(200, 0));
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.task.poc.benchmark;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.util.CompletionWriteBuffer;
+import com.task.poc.util.HostCircuitBreaker;
+import com.task.poc.util.PartitionCoordinator;
+import com.task.poc.util.HostConcurrencyLimiter;
+import com.task.poc.util.RetryPolicy;
+import com.task.poc.util.ScheduleExecutionService;
+import com.task.poc.util.SchedulerMetrics;
+import com.task.poc.util.SchedulerNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Due-schedule selection and dispatch in ScheduleExecutionService: one operation drains a backlog of
+ * overdue schedules through the overdue scan, claim, delivery and write-back buffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int backlogSize;
+
+    @Param({"platform", "virtual"})
+    public String executionMode;
+
+    private ScheduleExecutionService service;
+    private CompletionWriteBuffer writeBuffer;
+    private ExecutorService executor;
+    private volatile CountDownLatch delivered;
+    private Set<?> inFlightIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Schedule> backlog = IntStream.range(0, backlogSize)
+                .mapToObj(i -> ScheduleMappingBenchmark.BenchmarkData.schedule(-60_000L - i))
+                .toList();
+        var store = BenchmarkStandIns.inMemoryStore(backlog);
+
+        executor = "virtual".equals(executionMode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(5);
+
+        SchedulerMetrics metrics = new SchedulerMetrics(new SimpleMeterRegistry());
+        HostConcurrencyLimiter hostLimiter = new HostConcurrencyLimiter(metrics, 1_000, 1, 1_000, 0.9, 2_000);
+
+        ScheduleCache cache = new ScheduleCache();
+        ReflectionTestUtils.setField(cache, "store", store);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maximumSize", 10_000L);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 30_000L);
+        cache.createCache();
+
+        writeBuffer = new CompletionWriteBuffer();
+        ReflectionTestUtils.setField(writeBuffer, "store", store);
+        ReflectionTestUtils.setField(writeBuffer, "cache", cache);
+        ReflectionTestUtils.setField(writeBuffer, "batchSize", 500);
+        ReflectionTestUtils.setField(writeBuffer, "flushIntervalMillis", 50L);
+        writeBuffer.startFlusher();
+
+        service = new ScheduleExecutionService();
+        ReflectionTestUtils.setField(service, "store", store);
+        ReflectionTestUtils.setField(service, "node", new SchedulerNode("benchmark-node"));
+        PartitionCoordinator partitionCoordinator = new PartitionCoordinator();
+        ReflectionTestUtils.setField(partitionCoordinator, "ownedPartitions", Set.of(0));
+        ReflectionTestUtils.setField(service, "partitionCoordinator", partitionCoordinator);
+        ReflectionTestUtils.setField(service, "executorService", executor);
+        ReflectionTestUtils.setField(service, "hostLimiter", hostLimiter);
+        ReflectionTestUtils.setField(service, "circuitBreaker", new HostCircuitBreaker(metrics, 5, 30_000));
+        ReflectionTestUtils.setField(service, "deliveryClient",
+                BenchmarkStandIns.instantDeliveryClient(() -> delivered.countDown()));
+        ReflectionTestUtils.setField(service, "writeBuffer", writeBuffer);
+        ReflectionTestUtils.setField(service, "metrics", metrics);
+        ReflectionTestUtils.setField(service, "deferMillis", 100L);
+        ReflectionTestUtils.setField(service, "retryPolicy", new RetryPolicy(5, 1_000, 300_000, 2.0));
+        ReflectionTestUtils.setField(service, "cache", cache);
+        ReflectionTestUtils.setField(service, "externalApiUrl", "http://localhost:7000/api/mock-api");
+        ReflectionTestUtils.setField(service, "tickMillis", 10L);
+        ReflectionTestUtils.setField(service, "wheelSize", 512);
+        ReflectionTestUtils.setField(service, "windowMillis", 120_000L);
+        ReflectionTestUtils.setField(service, "leaseMillis", 60_000L);
+        ReflectionTestUtils.setField(service, "reclaimGraceMillis", 10_000L);
+        ReflectionTestUtils.setField(service, "maxInFlight", 1_000);
+        ReflectionTestUtils.setField(service, "maxRunning", 1_000);
+        ReflectionTestUtils.setField(service, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(service, "categoryWeights", "");
+        // Measure the unthrottled scan, catch-up pacing would only measure the configured rate
+        ReflectionTestUtils.setField(service, "catchUpThreshold", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(service, "catchUpRatePerSecond", 100.0);
+        ReflectionTestUtils.setField(service, "catchUpBurst", 50);
+        ReflectionTestUtils.setField(service, "catchUpProgressIntervalMillis", 10_000L);
+        service.startTimingWheel();
+        inFlightIds = (Set<?>) ReflectionTestUtils.getField(service, "inFlightIds");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        service.stopTimingWheel();
+        writeBuffer.stopFlusher();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void drainBacklog() throws InterruptedException {
+        delivered = new CountDownLatch(backlogSize);
+        service.reclaimAbandonedSchedules();
+        delivered.await();
+
+        // Let the last executions finish, so the next invocation does not skip them as still in flight
+        while (!inFlightIds.isEmpty()) {
+            Thread.onSpinWait();
+        }
+    }
+}
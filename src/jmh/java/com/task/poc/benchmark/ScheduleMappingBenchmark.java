@@ -0,0 +1,113 @@
+package com.task.poc.benchmark;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.MissedOccurrencePolicy;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import com.task.poc.util.ScheduleMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written ScheduleMapper with the strict ModelMapper configuration it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private ScheduleMapper scheduleMapper;
+    private Schedule schedule;
+    private ScheduleRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        scheduleMapper = new ScheduleMapper();
+
+        schedule = BenchmarkData.schedule(0);
+        request = new ScheduleRequestDTO("Quarterly review", new Date(), BenchmarkData.info(), null);
+    }
+
+    @Benchmark
+    public ScheduleDTO modelMapperToDto() {
+        return modelMapper.map(schedule, ScheduleDTO.class);
+    }
+
+    @Benchmark
+    public ScheduleDTO scheduleMapperToDto() {
+        return scheduleMapper.toDto(schedule);
+    }
+
+    @Benchmark
+    public Schedule modelMapperToSchedule() {
+        return modelMapper.map(request, Schedule.class);
+    }
+
+    @Benchmark
+    public Schedule scheduleMapperToSchedule() {
+        return scheduleMapper.toSchedule(request);
+    }
+
+    @Benchmark
+    public Schedule modelMapperUpdate() {
+        modelMapper.map(request, schedule);
+        return schedule;
+    }
+
+    @Benchmark
+    public Schedule scheduleMapperUpdate() {
+        scheduleMapper.updateSchedule(request, schedule);
+        return schedule;
+    }
+
+    /**
+     * Representative schedule documents shared by the benchmarks.
+     */
+    static final class BenchmarkData {
+
+        private BenchmarkData() {
+        }
+
+        static Schedule schedule(long offsetMillis) {
+            Date now = new Date();
+            return Schedule.builder()
+                    .id(UUID.randomUUID().toString())
+                    .name("Quarterly review")
+                    .startDateTime(new Date(now.getTime() + offsetMillis))
+                    .createDate(now)
+                    .updateDate(now)
+                    .info(info())
+                    .build();
+        }
+
+        static ScheduleInfoDTO info() {
+            return new ScheduleInfoDTO("Room 4", Category.WORK, Priority.HIGH,
+                    List.of("alice@example.com", "bob@example.com", "carol@example.com"),
+                    false, "NONE", "Bring the numbers for Q3.", "Europe/Berlin", MissedOccurrencePolicy.SKIP);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.task.poc.benchmark;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.util.ScheduleTimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of loading a look-ahead window into the timing wheel and cancelling it again,
+ * the work done per window load and per API update.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleTimingWheelBenchmark {
+
+    @Param({"10000"})
+    public int windowSize;
+
+    private ScheduleTimingWheel wheel;
+    private List<Schedule> window;
+
+    @Setup
+    public void setUp() {
+        // The ticker is not started, so nothing fires while measuring
+        wheel = new ScheduleTimingWheel(10, 512, schedule -> { });
+        window = IntStream.range(0, windowSize)
+                .mapToObj(i -> ScheduleMappingBenchmark.BenchmarkData.schedule(1_000L + i * 10L))
+                .toList();
+    }
+
+    @Benchmark
+    public int loadAndCancelWindow() {
+        window.forEach(wheel::schedule);
+        int size = wheel.size();
+        window.forEach(schedule -> wheel.cancel(schedule.getId()));
+        return size;
+    }
+}
@@ -0,0 +1,41 @@
+package com.task.poc.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executor that runs schedule deliveries.
+ * In "platform" mode a fixed pool of platform threads is used, in "virtual" mode every delivery
+ * gets its own virtual thread, so blocking HTTP calls no longer cap the number of deliveries in flight.
+ */
+@Configuration
+@Log4j2
+public class ExecutorConfiguration {
+
+    /**
+     * The executor is wrapped with Micrometer's executor metrics (executor.queued, executor.active, ...
+     * tagged name=scheduleExecutor); pool gauges are only available in platform mode.
+     */
+    @Bean(name = "scheduleExecutor", destroyMethod = "shutdown")
+    public ExecutorService scheduleExecutor(@Value("${scheduler.execution.mode:platform}") String mode,
+                                            @Value("${scheduler.execution.pool-size:5}") int poolSize,
+                                            MeterRegistry meterRegistry) {
+        ExecutorService executor;
+        if ("virtual".equalsIgnoreCase(mode)) {
+            log.info("Executing schedules on virtual threads.");
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("schedule-exec-", 0).factory());
+        } else {
+            log.info("Executing schedules on a pool of {} platform threads.", poolSize);
+            executor = Executors.newFixedThreadPool(poolSize); // Thread pool for parallel execution
+        }
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "scheduleExecutor");
+    }
+}
@@ -0,0 +1,30 @@
+package com.task.poc.configuration;
+
+import com.task.poc.repository.CompactScheduleInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the compact encoding of the schedule info object.
+ * The reader is always registered, so nodes with scheduler.store.compact-encoding disabled still read documents
+ * written by nodes that have it enabled; the writer only when it is enabled.
+ */
+@Configuration
+public class MongoConversionConfiguration {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(
+            @Value("${scheduler.store.compact-encoding:false}") boolean compactEncoding) {
+        List<Object> converters = new ArrayList<>();
+        converters.add(new CompactScheduleInfo.Reader());
+        if (compactEncoding) {
+            converters.add(new CompactScheduleInfo.Writer());
+        }
+        return new MongoCustomConversions(converters);
+    }
+}
@@ -0,0 +1,44 @@
+package com.task.poc.configuration;
+
+import com.task.poc.models.database.Schedule;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Creates the indexes declared on the document classes at startup.
+ * The dispatcher's pending scans rely on them, so they are not left to manual setup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mongo", matchIfMissing = true)
+@Log4j2
+public class MongoIndexConfiguration {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        try {
+            IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+            IndexOperations indexOperations = mongoTemplate.indexOps(Schedule.class);
+
+            resolver.resolveIndexFor(Schedule.class).forEach(indexOperations::ensureIndex);
+
+            log.info("Ensured indexes for collection: {}", mongoTemplate.getCollectionName(Schedule.class));
+        } catch (Exception ex) {
+            log.error("Failed to ensure indexes. Exception: ", ex);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.task.poc.controller;
+
+import com.task.poc.service.DeadLetterService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for schedules whose delivery failed after the last retry.
+ * Provides endpoints to inspect dead letters and to replay them.
+ */
+@CrossOrigin(origins = "*")
+@Log4j2
+@Profile("!reactive")
+@RestController
+@RequestMapping("api/scheduler/dead-letters")
+public class DeadLetters {
+
+    @Autowired
+    private DeadLetterService service;
+
+    /**
+     * Endpoint to retrieve the most recent dead letters.
+     * @param limit The maximum number of dead letters to return
+     * @return ResponseEntity containing the dead letters, newest first
+     */
+    @GetMapping()
+    @ResponseBody
+    public ResponseEntity<?> retrieveDeadLetters(@RequestParam(value = "limit", required = false) Integer limit) {
+        log.debug("Received request to retrieve dead letters. Limit: {}", limit);
+
+        return service.getDeadLetters(limit);
+    }
+
+    /**
+     * Endpoint to retrieve a dead letter by the ID of its schedule.
+     * @param id The ID of the dead-lettered schedule
+     * @return ResponseEntity containing the dead letter or error message
+     */
+    @GetMapping("/{id}")
+    @ResponseBody
+    public ResponseEntity<?> retrieveDeadLetterById(@PathVariable("id") String id) {
+        log.debug("Received request to retrieve dead letter with ID: {}", id);
+
+        return service.getDeadLetterById(id);
+    }
+
+    /**
+     * Endpoint to move a dead-lettered schedule back into the scheduler, due immediately.
+     * @param id The ID of the dead-lettered schedule
+     * @return ResponseEntity containing the restored schedule or error message
+     */
+    @PostMapping("/{id}/replay")
+    @ResponseBody
+    public ResponseEntity<?> replayDeadLetter(@PathVariable("id") String id) {
+        log.debug("Received request to replay dead letter with ID: {}", id);
+
+        return service.replayDeadLetter(id);
+    }
+}
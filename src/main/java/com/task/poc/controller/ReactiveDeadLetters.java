@@ -0,0 +1,66 @@
+package com.task.poc.controller;
+
+import com.task.poc.models.schedule.DeadLetterDTO;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.service.DeadLetterService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * WebFlux controller for dead letters, active in the reactive profile.
+ * Dead letters are an operator tool with little traffic, so the blocking DeadLetterService is reused on the
+ * bounded elastic scheduler instead of the event loop.
+ */
+@CrossOrigin(origins = "*")
+@Log4j2
+@Profile("reactive")
+@RestController
+@RequestMapping("api/scheduler/dead-letters")
+public class ReactiveDeadLetters {
+
+    @Autowired
+    private DeadLetterService service;
+
+    /**
+     * Endpoint to retrieve the most recent dead letters.
+     * @param limit The maximum number of dead letters to return
+     * @return Mono of the ResponseEntity containing the dead letters, newest first
+     */
+    @GetMapping()
+    public Mono<ResponseEntity<List<DeadLetterDTO>>> retrieveDeadLetters(@RequestParam(value = "limit", required = false) Integer limit) {
+        log.debug("Received request to retrieve dead letters. Limit: {}", limit);
+
+        return Mono.fromCallable(() -> service.getDeadLetters(limit)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Endpoint to retrieve a dead letter by the ID of its schedule.
+     * @param id The ID of the dead-lettered schedule
+     * @return Mono of the ResponseEntity containing the dead letter or error message
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<DeadLetterDTO>> retrieveDeadLetterById(@PathVariable("id") String id) {
+        log.debug("Received request to retrieve dead letter with ID: {}", id);
+
+        return Mono.fromCallable(() -> service.getDeadLetterById(id)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Endpoint to move a dead-lettered schedule back into the scheduler, due immediately.
+     * @param id The ID of the dead-lettered schedule
+     * @return Mono of the ResponseEntity containing the restored schedule or error message
+     */
+    @PostMapping("/{id}/replay")
+    public Mono<ResponseEntity<ScheduleDTO>> replayDeadLetter(@PathVariable("id") String id) {
+        log.debug("Received request to replay dead letter with ID: {}", id);
+
+        return Mono.fromCallable(() -> service.replayDeadLetter(id)).subscribeOn(Schedulers.boundedElastic());
+    }
+}
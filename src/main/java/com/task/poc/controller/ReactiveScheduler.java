@@ -0,0 +1,163 @@
+package com.task.poc.controller;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleImportResultDTO;
+import com.task.poc.models.schedule.ScheduleListDTO;
+import com.task.poc.models.schedule.ScheduleQuery;
+import com.task.poc.models.schedule.ScheduleQueryResultDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import com.task.poc.service.ReactiveSchedulerService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * WebFlux controller for managing schedules, active in the reactive profile.
+ * Serves the same api/scheduler contract as {@link Scheduler}, without holding a thread per in-flight request.
+ * This controller delegates business logic to the ReactiveSchedulerService.
+ */
+@CrossOrigin(origins = "*")
+@Log4j2
+@Profile("reactive")
+@RestController
+@RequestMapping("api/scheduler")
+public class ReactiveScheduler {
+
+    private final ReactiveSchedulerService service;
+
+    public ReactiveScheduler(ReactiveSchedulerService service) {
+        this.service = service;
+    }
+
+    /**
+     * Endpoint to create a new schedule.
+     * @param request The schedule data to create
+     * @return Mono of the ResponseEntity with the created schedule data or error message
+     */
+    @PostMapping()
+    public Mono<ResponseEntity<ScheduleDTO>> createSchedule(@RequestBody ScheduleRequestDTO request) {
+        log.debug("Received request to create a new schedule: {}", request);
+
+        return service.createSchedule(request);
+    }
+
+    /**
+     * Endpoint to create schedules in bulk.
+     * Accepts newline-delimited JSON or a JSON array of schedules and streams back one NDJSON result line per record.
+     * @param records The schedules of the request body, decoded as they arrive
+     * @return Flux of the per-record results
+     */
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ScheduleImportResultDTO> importSchedules(@RequestBody Flux<ScheduleRequestDTO> records) {
+        log.debug("Received request to import schedules in bulk.");
+
+        return service.importSchedules(records);
+    }
+
+    /**
+     * Endpoint to retrieve schedules page by page.
+     * @param limit The maximum number of schedules to return
+     * @param cursor The nextCursor returned with the previous page, omitted for the first page
+     * @return Mono of the ResponseEntity containing a page of schedules or error message
+     */
+    @GetMapping()
+    public Mono<ResponseEntity<ScheduleListDTO>> retrieveAllSchedules(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        log.debug("Received request to retrieve schedules. Limit: {}, Cursor: {}", limit, cursor);
+
+        return service.getAllSchedules(limit, cursor);
+    }
+
+    /**
+     * Endpoint to stream all schedules as newline-delimited JSON.
+     * @return Flux of every schedule
+     */
+    @GetMapping(params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ScheduleDTO> streamAllSchedules() {
+        log.debug("Received request to stream all schedules.");
+
+        return service.streamAllSchedules();
+    }
+
+    /**
+     * Endpoint to query schedules by indexed filters, page by page.
+     * @param from Inclusive start of the startDateTime range (ISO-8601)
+     * @param to Exclusive end of the startDateTime range (ISO-8601)
+     * @param category Only schedules of this info.category
+     * @param priority Only schedules of this info.priority
+     * @param executed Only executed or only pending schedules
+     * @param namePrefix Only schedules whose name starts with this prefix, case-sensitive
+     * @param fields Comma-separated top-level fields to return, all fields when omitted
+     * @param limit The maximum number of schedules to return
+     * @param cursor The nextCursor returned with the previous page, omitted for the first page
+     * @return Mono of the ResponseEntity containing the total count, a page of matching schedules or error message
+     */
+    @GetMapping("/query")
+    public Mono<ResponseEntity<ScheduleQueryResultDTO>> querySchedules(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(value = "category", required = false) Category category,
+            @RequestParam(value = "priority", required = false) Priority priority,
+            @RequestParam(value = "executed", required = false) Boolean executed,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "fields", required = false) Set<String> fields,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        log.debug("Received request to query schedules. From: {}, To: {}, Category: {}, Priority: {}, Executed: {}, "
+                + "Name prefix: {}, Fields: {}", from, to, category, priority, executed, namePrefix, fields);
+
+        return service.querySchedules(new ScheduleQuery(from, to, category, priority, executed, namePrefix, fields),
+                limit, cursor);
+    }
+
+    /**
+     * Endpoint to retrieve a specific schedule by its ID.
+     * @param id The ID of the schedule to retrieve
+     * @return Mono of the ResponseEntity containing the schedule data or error message
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ScheduleDTO>> retrieveScheduleById(@PathVariable("id") String id) {
+        log.debug("Received request to retrieve schedule with ID: {}", id);
+
+        return service.getScheduleById(id);
+    }
+
+    /**
+     * Endpoint to update an existing schedule.
+     * @param id The ID of the schedule to update
+     * @param request The updated schedule data
+     * @return Mono of the ResponseEntity containing the updated schedule data or error message
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ScheduleDTO>> updateSchedule(@PathVariable("id") String id,
+                                                            @RequestBody ScheduleRequestDTO request) {
+        log.debug("Received request to update schedule with ID: {} and data: {}", id, request);
+
+        return service.updateSchedule(id, request);
+    }
+
+    /**
+     * Endpoint to delete a schedule by its ID.
+     * @param id The ID of the schedule to delete
+     * @return Mono of the ResponseEntity without content or with an error message
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteSchedule(@PathVariable String id) {
+        log.debug("Received request to delete schedule with ID: {}", id);
+
+        return service.deleteSchedule(id);
+    }
+}
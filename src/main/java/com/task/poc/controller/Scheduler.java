@@ -1,12 +1,23 @@
 package com.task.poc.controller;
 
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.schedule.ScheduleQuery;
 import com.task.poc.models.schedule.ScheduleRequestDTO;
 import com.task.poc.service.SchedulerService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.Date;
+import java.util.Set;
+
 /**
  * Controller for managing schedules.
  * Provides endpoints to create, retrieve, update, and delete schedules.
@@ -14,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
  */
 @CrossOrigin(origins = "*")  // Allows requests from all origins for cross-origin resource sharing
 @Log4j2 // Log4j 2 integration using Lombok for logging
+@Profile("!reactive")  // Replaced by ReactiveScheduler in the reactive profile
 @RestController  // Indicates that this class is a REST controller
 @RequestMapping("api/scheduler")  // Base URL path for all methods in this controller
 public class Scheduler {
@@ -36,16 +48,83 @@ public class Scheduler {
     }
 
     /**
-     * Endpoint to retrieve all schedules.
-     * @return ResponseEntity containing a list of all schedules or error message
+     * Endpoint to create schedules in bulk.
+     * Accepts newline-delimited JSON or a JSON array of schedules and streams back one NDJSON result line per record.
+     * @param request The HTTP request whose body is read incrementally
+     * @return ResponseEntity streaming the per-record results
+     * @throws IOException if the request body cannot be opened
+     */
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> importSchedules(HttpServletRequest request) throws IOException {
+        log.debug("Received request to import schedules in bulk.");
+
+        // Call the service method to import the schedules and return the streamed results
+        return service.importSchedules(request.getInputStream());
+    }
+
+    /**
+     * Endpoint to retrieve schedules page by page.
+     * @param limit The maximum number of schedules to return
+     * @param cursor The nextCursor returned with the previous page, omitted for the first page
+     * @return ResponseEntity containing a page of schedules or error message
      */
     @GetMapping()
     @ResponseBody
-    public ResponseEntity<?> retrieveAllSchedules() {
-        log.debug("Received request to retrieve all schedules.");
+    public ResponseEntity<?> retrieveAllSchedules(@RequestParam(value = "limit", required = false) Integer limit,
+                                                  @RequestParam(value = "cursor", required = false) String cursor) {
+        log.debug("Received request to retrieve schedules. Limit: {}, Cursor: {}", limit, cursor);
+
+        // Call the service method to fetch a page of schedules and return the response
+        return service.getAllSchedules(limit, cursor);
+    }
+
+    /**
+     * Endpoint to stream all schedules as newline-delimited JSON.
+     * @return ResponseEntity streaming every schedule
+     */
+    @GetMapping(params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> streamAllSchedules() {
+        log.debug("Received request to stream all schedules.");
+
+        // Call the service method to stream all schedules and return the response
+        return service.streamAllSchedules();
+    }
+
+    /**
+     * Endpoint to query schedules by indexed filters, page by page.
+     * @param from Inclusive start of the startDateTime range (ISO-8601)
+     * @param to Exclusive end of the startDateTime range (ISO-8601)
+     * @param category Only schedules of this info.category
+     * @param priority Only schedules of this info.priority
+     * @param executed Only executed or only pending schedules
+     * @param namePrefix Only schedules whose name starts with this prefix, case-sensitive
+     * @param fields Comma-separated top-level fields to return, all fields when omitted
+     * @param limit The maximum number of schedules to return
+     * @param cursor The nextCursor returned with the previous page, omitted for the first page
+     * @return ResponseEntity containing the total count, a page of matching schedules or error message
+     */
+    @GetMapping("/query")
+    @ResponseBody
+    public ResponseEntity<?> querySchedules(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(value = "category", required = false) Category category,
+            @RequestParam(value = "priority", required = false) Priority priority,
+            @RequestParam(value = "executed", required = false) Boolean executed,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "fields", required = false) Set<String> fields,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        log.debug("Received request to query schedules. From: {}, To: {}, Category: {}, Priority: {}, Executed: {}, "
+                + "Name prefix: {}, Fields: {}", from, to, category, priority, executed, namePrefix, fields);
 
-        // Call the service method to fetch all schedules and return the response
-        return service.getAllSchedules();
+        // Call the service method to query the schedules and return the response
+        return service.querySchedules(new ScheduleQuery(from, to, category, priority, executed, namePrefix, fields),
+                limit, cursor);
     }
 
     /**
@@ -0,0 +1,6 @@
+package com.task.poc.models.common;
+
+public enum MissedOccurrencePolicy {
+    SKIP,          // Drop occurrences missed during downtime and wait for the next one
+    CATCH_UP       // Fire once for all missed occurrences, then continue with the next one
+}
@@ -17,4 +17,8 @@ public class ScheduleInfoDTO {
     private boolean isRecurring;
     private String recurrencePattern;
     private String notes;
+    // IANA time zone recurring occurrences are computed in, e.g. "Europe/Berlin"; UTC when empty
+    private String timeZone;
+    // What to do with occurrences missed while the service was down; SKIP when empty
+    private MissedOccurrencePolicy missedOccurrencePolicy;
 }
@@ -0,0 +1,32 @@
+package com.task.poc.models.database;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+
+import java.util.Date;
+
+/**
+ * A schedule whose delivery kept failing after the last retry, moved out of the schedule collection.
+ * Keyed by the schedule ID; replaying it moves the schedule back.
+ */
+@org.springframework.data.mongodb.core.mapping.Document(
+        collection = "dead-letter-collection"
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetter {
+    @Id
+    private String id;
+    // The schedule as it was when its last attempt failed
+    private Schedule schedule;
+    private int attempts;
+    // HTTP status of the last attempt, null if no response arrived
+    private Integer lastStatusCode;
+    private String lastError;
+    private Date deadLetterDate;
+}
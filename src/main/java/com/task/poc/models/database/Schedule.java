@@ -7,12 +7,26 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 
 import java.util.Date;
 
 @org.springframework.data.mongodb.core.mapping.Document(
         collection = "schedule-collection"
 )
+@CompoundIndex(name = "partition_executed_startDateTime", def = "{'partition': 1, 'executed': 1, 'startDateTime': 1}")
+@CompoundIndex(name = "startDateTime_id", def = "{'startDateTime': 1, '_id': 1}")
+// Query API filters, each in listing order; category and priority per encoding of the info object
+@CompoundIndex(name = "executed_startDateTime_id", def = "{'executed': 1, 'startDateTime': 1, '_id': 1}")
+@CompoundIndex(name = "name", def = "{'name': 1}")
+@CompoundIndex(name = "category_startDateTime_id", def = "{'info.category': 1, 'startDateTime': 1, '_id': 1}",
+        partialFilter = "{'info.category': {$exists: true}}")
+@CompoundIndex(name = "compactCategory_startDateTime_id", def = "{'info.c': 1, 'startDateTime': 1, '_id': 1}",
+        partialFilter = "{'info.c': {$exists: true}}")
+@CompoundIndex(name = "priority_startDateTime_id", def = "{'info.priority': 1, 'startDateTime': 1, '_id': 1}",
+        partialFilter = "{'info.priority': {$exists: true}}")
+@CompoundIndex(name = "compactPriority_startDateTime_id", def = "{'info.p': 1, 'startDateTime': 1, '_id': 1}",
+        partialFilter = "{'info.p': {$exists: true}}")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,9 +36,24 @@ public class Schedule {
     @Id
     private String id;
     private String name;
+    // Partition derived from the ID, only the node owning the partition loads and sweeps the schedule
+    private int partition;
     private Date startDateTime;
     private Date createDate;
     private Date updateDate;
     private boolean executed;
     private ScheduleInfoDTO info;
+    // Endpoint notified when the schedule fires, defaults to external.api.url when empty
+    private String callbackUrl;
+    // Node currently holding the execution lease, null while unclaimed
+    private String leaseOwner;
+    // Lease expiry, after which another node may reclaim the schedule
+    private Date leaseExpiry;
+    // First occurrence of a recurring series, later occurrences are computed from it
+    private Date seriesStartDateTime;
+    private Date lastExecutionDate;
+    // Failed delivery attempts of the current occurrence
+    private int attemptCount;
+    // When the next delivery attempt is due after a failure, null while no retry is pending
+    private Date nextAttemptDateTime;
 }
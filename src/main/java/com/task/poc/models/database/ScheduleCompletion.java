@@ -0,0 +1,44 @@
+package com.task.poc.models.database;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * A finished execution waiting to be written back to its schedule document.
+ * One-shot schedules are marked executed; recurring ones are advanced to their next occurrence.
+ * A failed delivery that will be retried only records its attempt and keeps the lease until the retry is due.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ScheduleCompletion {
+    private String id;
+    // Node that held the lease while executing
+    private String owner;
+    private Date updateDate;
+    // The occurrence that was executed
+    private Date startDateTime;
+    // Next occurrence of a recurring schedule, null for one-shot schedules
+    private Date nextStartDateTime;
+    private Date seriesStartDateTime;
+    // Failed attempts so far and when the next one is due, only set for retries
+    private int attemptCount;
+    private Date nextAttemptDateTime;
+
+    /**
+     * @return true if the delivery failed and is retried at nextAttemptDateTime.
+     */
+    public boolean isRetry() {
+        return nextAttemptDateTime != null;
+    }
+
+    /**
+     * @return true if the schedule recurs and is advanced instead of marked executed.
+     */
+    public boolean isRecurring() {
+        return nextStartDateTime != null;
+    }
+}
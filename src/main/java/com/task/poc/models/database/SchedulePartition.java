@@ -0,0 +1,28 @@
+package com.task.poc.models.database;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+
+import java.util.Date;
+
+/**
+ * Ownership lease of one schedule partition. The owning node loads and sweeps the partition's schedules
+ * and keeps renewing the lease; once it expires any node may take the partition over.
+ */
+@org.springframework.data.mongodb.core.mapping.Document(
+        collection = "scheduler-partitions"
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SchedulePartition {
+    @Id
+    private Integer id;
+    // Node currently owning the partition, null while unowned
+    private String owner;
+    private Date leaseExpiry;
+}
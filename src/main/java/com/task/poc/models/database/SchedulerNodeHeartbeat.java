@@ -0,0 +1,26 @@
+package com.task.poc.models.database;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+
+import java.util.Date;
+
+/**
+ * Liveness record of a scheduler node, used to work out each node's fair share of partitions.
+ */
+@org.springframework.data.mongodb.core.mapping.Document(
+        collection = "scheduler-nodes"
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SchedulerNodeHeartbeat {
+    @Id
+    private String id;
+    // The node counts as alive until this time
+    private Date heartbeatExpiry;
+}
@@ -0,0 +1,19 @@
+package com.task.poc.models.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Body of a batched callback: the due schedules coalesced for one target.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchDeliveryRequestDTO {
+    private List<ScheduleDTO> items;
+}
@@ -0,0 +1,33 @@
+package com.task.poc.models.schedule;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response to a batched callback, with the outcome of every item.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchDeliveryResponseDTO {
+    private List<ItemResult> results;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ItemResult {
+        // ID of the schedule
+        private String id;
+        // HTTP status the item would have been answered with on its own
+        private int status;
+    }
+}
@@ -0,0 +1,21 @@
+package com.task.poc.models.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetterDTO {
+    private String id;
+    private ScheduleDTO schedule;
+    private int attempts;
+    private Integer lastStatusCode;
+    private String lastError;
+    private Date deadLetterDate;
+}
@@ -0,0 +1,46 @@
+package com.task.poc.models.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in the schedule listing, ordered by startDateTime and then ID.
+ * Handed to clients as an opaque URL-safe token.
+ */
+@Getter
+@AllArgsConstructor
+public class ScheduleCursor {
+    // Null for schedules without a start time, which sort first
+    private Date startDateTime;
+    private String id;
+
+    /**
+     * @return The token identifying the position after this schedule.
+     */
+    public String encode() {
+        String time = startDateTime != null ? Long.toString(startDateTime.getTime()) : "";
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((time + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token A token created by {@link #encode()}.
+     * @return The decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static ScheduleCursor decode(String token) {
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = value.indexOf(':');
+        if (separator < 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+
+        String time = value.substring(0, separator);
+        Date startDateTime = time.isEmpty() ? null : new Date(Long.parseLong(time));
+        return new ScheduleCursor(startDateTime, value.substring(separator + 1));
+    }
+}
@@ -1,5 +1,6 @@
 package com.task.poc.models.schedule;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.task.poc.models.common.ScheduleInfoDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,6 +13,7 @@ import java.util.Date;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ScheduleDTO {
     private String id;
     private String name;
@@ -19,4 +21,11 @@ public class ScheduleDTO {
     private Date createDate;
     private Date updateDate;
     private ScheduleInfoDTO info;
+    // True once a one-shot schedule has been delivered
+    private Boolean executed;
+    // Endpoint notified when the schedule fires, defaults to external.api.url when empty
+    private String callbackUrl;
+    // Failed delivery attempts of the current occurrence and when the next one is due
+    private Integer attemptCount;
+    private Date nextAttemptDateTime;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.task.poc.models.schedule;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Result of importing a single record of a bulk import, written as one NDJSON line.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleImportResultDTO {
+    // Zero-based position of the record in the request body
+    private long index;
+    private String id;
+    private Status status;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+}
@@ -13,4 +13,6 @@ import java.util.List;
 @NoArgsConstructor
 public class ScheduleListDTO {
     List<ScheduleDTO> scheduleDTOList;
+    // Cursor of the next page, null on the last page
+    String nextCursor;
 }
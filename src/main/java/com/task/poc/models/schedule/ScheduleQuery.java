@@ -0,0 +1,50 @@
+package com.task.poc.models.schedule;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filters and projection of a schedule query. Every filter is optional and filters are combined with AND.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleQuery {
+
+    // Top-level schedule fields that can be requested; the ID is always returned
+    public static final Set<String> PROJECTABLE_FIELDS = Set.of("name", "startDateTime", "createDate", "updateDate",
+            "info", "executed", "callbackUrl", "attemptCount", "nextAttemptDateTime");
+
+    // Inclusive start of the startDateTime range, open when null
+    private Date from;
+    // Exclusive end of the startDateTime range, open when null
+    private Date to;
+    private Category category;
+    private Priority priority;
+    private Boolean executed;
+    // Case-sensitive prefix of the schedule name
+    private String namePrefix;
+    // Fields to return, every field when empty
+    private Set<String> fields;
+
+    /**
+     * @return The requested fields that cannot be projected, empty if all of them can.
+     */
+    public Set<String> unknownFields() {
+        if (fields == null) {
+            return Set.of();
+        }
+        return fields.stream()
+                .filter(field -> !PROJECTABLE_FIELDS.contains(field))
+                .collect(Collectors.toSet());
+    }
+}
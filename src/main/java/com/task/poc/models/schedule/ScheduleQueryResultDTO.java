@@ -0,0 +1,20 @@
+package com.task.poc.models.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleQueryResultDTO {
+    // Number of schedules matching the filters, only counted for the first page
+    Long totalCount;
+    List<ScheduleDTO> scheduleDTOList;
+    // Cursor of the next page, null on the last page
+    String nextCursor;
+}
@@ -16,4 +16,6 @@ public class ScheduleRequestDTO {
     private String name;
     private Date startDateTime;
     private ScheduleInfoDTO info;
+    // Endpoint notified when the schedule fires, defaults to external.api.url when empty
+    private String callbackUrl;
 }
@@ -0,0 +1,116 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.MissedOccurrencePolicy;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact persisted encoding of a schedule's info object (scheduler.store.compact-encoding): one- and two-letter
+ * field names, enums as ordinals, and empty fields left out. Top-level schedule fields keep their names, since
+ * indexes and lease queries rely on them.
+ * The reader accepts both encodings field by field, so documents written before the switch, or by nodes
+ * without it, stay readable; they are rewritten in the compact form by {@link SchedulerRepositoryCustom#migrateInfoEncoding(int)}.
+ * Enum constants must only ever be appended, since their ordinals are stored.
+ */
+public final class CompactScheduleInfo {
+
+    public static final String LOCATION = "l";
+    public static final String CATEGORY = "c";
+    public static final String PRIORITY = "p";
+    public static final String ATTENDEES = "a";
+    public static final String RECURRING = "r";
+    public static final String RECURRENCE_PATTERN = "rp";
+    public static final String NOTES = "n";
+    public static final String TIME_ZONE = "tz";
+    public static final String MISSED_OCCURRENCE_POLICY = "m";
+
+    // Always written by the default encoding, so its presence marks a document not migrated yet
+    public static final String LEGACY_MARKER = "isRecurring";
+
+    private CompactScheduleInfo() {
+    }
+
+    @WritingConverter
+    public static class Writer implements Converter<ScheduleInfoDTO, Document> {
+
+        @Override
+        public Document convert(ScheduleInfoDTO info) {
+            Document document = new Document();
+            putIfPresent(document, LOCATION, info.getLocation());
+            putIfPresent(document, CATEGORY, info.getCategory() != null ? info.getCategory().ordinal() : null);
+            putIfPresent(document, PRIORITY, info.getPriority() != null ? info.getPriority().ordinal() : null);
+            putIfPresent(document, ATTENDEES, info.getAttendees());
+            if (info.isRecurring()) {
+                document.put(RECURRING, true);
+            }
+            putIfPresent(document, RECURRENCE_PATTERN, info.getRecurrencePattern());
+            putIfPresent(document, NOTES, info.getNotes());
+            putIfPresent(document, TIME_ZONE, info.getTimeZone());
+            putIfPresent(document, MISSED_OCCURRENCE_POLICY,
+                    info.getMissedOccurrencePolicy() != null ? info.getMissedOccurrencePolicy().ordinal() : null);
+            return document;
+        }
+
+        private static void putIfPresent(Document document, String key, Object value) {
+            if (value != null) {
+                document.put(key, value);
+            }
+        }
+    }
+
+    @ReadingConverter
+    public static class Reader implements Converter<Document, ScheduleInfoDTO> {
+
+        @Override
+        public ScheduleInfoDTO convert(Document document) {
+            ScheduleInfoDTO info = new ScheduleInfoDTO();
+            info.setLocation(string(document, LOCATION, "location"));
+            info.setCategory(enumValue(document, CATEGORY, "category", Category.class));
+            info.setPriority(enumValue(document, PRIORITY, "priority", Priority.class));
+            info.setAttendees(attendees(document));
+            info.setRecurring(Boolean.TRUE.equals(value(document, RECURRING, LEGACY_MARKER)));
+            info.setRecurrencePattern(string(document, RECURRENCE_PATTERN, "recurrencePattern"));
+            info.setNotes(string(document, NOTES, "notes"));
+            info.setTimeZone(string(document, TIME_ZONE, "timeZone"));
+            info.setMissedOccurrencePolicy(enumValue(document, MISSED_OCCURRENCE_POLICY, "missedOccurrencePolicy",
+                    MissedOccurrencePolicy.class));
+            return info;
+        }
+
+        private static Object value(Document document, String compactKey, String legacyKey) {
+            return document.containsKey(compactKey) ? document.get(compactKey) : document.get(legacyKey);
+        }
+
+        private static String string(Document document, String compactKey, String legacyKey) {
+            Object value = value(document, compactKey, legacyKey);
+            return value != null ? value.toString() : null;
+        }
+
+        private static <E extends Enum<E>> E enumValue(Document document, String compactKey, String legacyKey,
+                                                       Class<E> type) {
+            Object value = value(document, compactKey, legacyKey);
+            if (value instanceof Number ordinal) {
+                return type.getEnumConstants()[ordinal.intValue()];
+            }
+            return value != null ? Enum.valueOf(type, value.toString()) : null;
+        }
+
+        private static List<String> attendees(Document document) {
+            Object value = value(document, ATTENDEES, "attendees");
+            if (!(value instanceof List<?> list)) {
+                return null;
+            }
+            List<String> attendees = new ArrayList<>(list.size());
+            list.forEach(attendee -> attendees.add(attendee != null ? attendee.toString() : null));
+            return attendees;
+        }
+    }
+}
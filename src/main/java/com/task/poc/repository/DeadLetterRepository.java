@@ -0,0 +1,11 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.DeadLetter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mongo", matchIfMissing = true)
+public interface DeadLetterRepository extends MongoRepository<DeadLetter, String> {
+}
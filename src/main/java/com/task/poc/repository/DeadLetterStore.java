@@ -0,0 +1,38 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.DeadLetter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of dead letters, next to the {@link ScheduleStore} of the same type: {@link MongoDeadLetterStore}
+ * by default, {@link EmbeddedDeadLetterStore} with scheduler.store.type=embedded.
+ */
+public interface DeadLetterStore {
+
+    /**
+     * Inserts or replaces the dead letter of a schedule.
+     *
+     * @param deadLetter The dead letter to store.
+     * @return The stored dead letter.
+     */
+    DeadLetter save(DeadLetter deadLetter);
+
+    /**
+     * @param id The ID of the dead-lettered schedule.
+     * @return The dead letter, if it exists.
+     */
+    Optional<DeadLetter> findById(String id);
+
+    /**
+     * @param limit The maximum number of dead letters to return.
+     * @return The most recent dead letters, newest first.
+     */
+    List<DeadLetter> findLatest(int limit);
+
+    /**
+     * @param id The ID of the dead-lettered schedule.
+     */
+    void deleteById(String id);
+}
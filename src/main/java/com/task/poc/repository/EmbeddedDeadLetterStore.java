@@ -0,0 +1,137 @@
+package com.task.poc.repository;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.poc.models.database.DeadLetter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link DeadLetterStore} of the embedded mode, keeping dead letters in memory and in their own {@link ScheduleLog}
+ * next to the schedule log. Dead letters are rare, so the log is only compacted when it is opened.
+ */
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "embedded")
+@Log4j2
+public class EmbeddedDeadLetterStore implements DeadLetterStore {
+
+    // Private mapper, so the log format does not follow the API's JSON settings
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Map<String, DeadLetter> byId = new HashMap<>();
+
+    private final Path path;
+    private final int initialSizeBytes;
+    private final boolean syncWrites;
+
+    private ScheduleLog deadLetterLog;
+
+    public EmbeddedDeadLetterStore(@Value("${scheduler.store.embedded.dead-letters.path:data/dead-letters.log}") Path path,
+                                   @Value("${scheduler.store.embedded.dead-letters.initial-size-bytes:1048576}") int initialSizeBytes,
+                                   @Value("${scheduler.store.embedded.sync-writes:true}") boolean syncWrites) {
+        this.path = path;
+        this.initialSizeBytes = initialSizeBytes;
+        this.syncWrites = syncWrites;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        Files.deleteIfExists(ScheduleLog.compactionPath(path));
+
+        deadLetterLog = new ScheduleLog(path, initialSizeBytes, syncWrites);
+        int records = deadLetterLog.recover((type, payload) -> {
+            if (type == ScheduleLog.PUT) {
+                DeadLetter deadLetter = decode(payload);
+                byId.put(deadLetter.getId(), deadLetter);
+            } else if (type == ScheduleLog.DELETE) {
+                byId.remove(new String(payload, StandardCharsets.UTF_8));
+            }
+        });
+
+        if (records > 2 * byId.size()) {
+            deadLetterLog.compact(byId.values().stream().map(this::encode).toList());
+        }
+
+        log.info("Recovered {} dead letters from {} log records in {}.", byId.size(), records, path);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        deadLetterLog.close();
+    }
+
+    @Override
+    public synchronized DeadLetter save(DeadLetter deadLetter) {
+        byte[] payload = encode(deadLetter);
+        append(ScheduleLog.PUT, payload);
+        byId.put(deadLetter.getId(), decode(payload));
+        return deadLetter;
+    }
+
+    @Override
+    public synchronized Optional<DeadLetter> findById(String id) {
+        return Optional.ofNullable(byId.get(id)).map(deadLetter -> decode(encode(deadLetter)));
+    }
+
+    @Override
+    public synchronized List<DeadLetter> findLatest(int limit) {
+        return byId.values().stream()
+                .sorted(Comparator.comparing(DeadLetter::getDeadLetterDate,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(deadLetter -> decode(encode(deadLetter)))
+                .toList();
+    }
+
+    @Override
+    public synchronized void deleteById(String id) {
+        if (byId.remove(id) != null) {
+            append(ScheduleLog.DELETE, id.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void append(byte type, byte[] payload) {
+        try {
+            deadLetterLog.append(type, payload);
+            deadLetterLog.sync();
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Failed to append to the dead-letter log", ex);
+        }
+    }
+
+    private byte[] encode(DeadLetter deadLetter) {
+        try {
+            return objectMapper.writeValueAsBytes(deadLetter);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private DeadLetter decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, DeadLetter.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,616 @@
+package com.task.poc.repository;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * {@link ScheduleStore} keeping every schedule in this process, for single-node deployments without a database
+ * round trip per operation (scheduler.store.type=embedded).
+ * Schedules are indexed in memory by ID and by startDateTime; every change is first appended to a memory-mapped
+ * {@link ScheduleLog} and forced to disk once per operation. On startup the log is replayed, discarding a record
+ * torn by a crash, and it is periodically compacted to the latest version of each live schedule.
+ * Changes are serialized by a write lock and index a new version of the schedule instead of modifying the indexed one.
+ * Reads take no lock: they iterate the concurrent indexes like a database cursor, skipping entries changed since they
+ * were read, and copy each schedule as it is consumed.
+ */
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "embedded")
+@Log4j2
+public class EmbeddedScheduleStore implements ScheduleStore {
+
+    // Private mapper, so the log format does not follow the API's JSON settings
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Map<String, Schedule> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<IndexKey> byStartDateTime = new ConcurrentSkipListSet<>();
+    private final Lock writeLock = new ReentrantLock();
+
+    private final Path path;
+    private final int initialSizeBytes;
+    // Force every change to disk before acknowledging it; otherwise a power loss may lose the latest changes
+    private final boolean syncWrites;
+    // Logs smaller than this are never compacted
+    private final int compactionMinBytes;
+
+    private ScheduleLog scheduleLog;
+    private int logRecords; // Records in the log, live or superseded
+
+    public EmbeddedScheduleStore(@Value("${scheduler.store.embedded.path:data/schedules.log}") Path path,
+                                 @Value("${scheduler.store.embedded.initial-size-bytes:67108864}") int initialSizeBytes,
+                                 @Value("${scheduler.store.embedded.sync-writes:true}") boolean syncWrites,
+                                 @Value("${scheduler.store.embedded.compaction-min-bytes:16777216}") int compactionMinBytes) {
+        this.path = path;
+        this.initialSizeBytes = initialSizeBytes;
+        this.syncWrites = syncWrites;
+        this.compactionMinBytes = compactionMinBytes;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        // A compaction interrupted before its rename, the log itself is still complete
+        Files.deleteIfExists(ScheduleLog.compactionPath(path));
+
+        scheduleLog = new ScheduleLog(path, initialSizeBytes, syncWrites);
+        logRecords = scheduleLog.recover((type, payload) -> {
+            if (type == ScheduleLog.PUT) {
+                index(decode(payload));
+            } else if (type == ScheduleLog.DELETE) {
+                unindex(new String(payload, StandardCharsets.UTF_8));
+            }
+        });
+
+        log.info("Recovered {} schedules from {} log records in {}.", byId.size(), logRecords, path);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            scheduleLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Bytes used by the records of the log, live or superseded.
+     */
+    int logSize() {
+        return scheduleLog.size();
+    }
+
+    /**
+     * Rewrites the log once more than half of its records are superseded or deleted.
+     * Changes wait while the live schedules are written out.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.store.embedded.compaction-interval-ms:60000}")
+    public void compact() {
+        writeLock.lock();
+        try {
+            if (scheduleLog.size() < compactionMinBytes || logRecords <= 2 * byId.size()) {
+                return;
+            }
+
+            int sizeBefore = scheduleLog.size();
+            scheduleLog.compact(byId.values().stream().map(this::encode).toList());
+            logRecords = byId.size();
+
+            log.info("Compacted schedule log from {} to {} bytes.", sizeBefore, scheduleLog.size());
+        } catch (Exception ex) {
+            log.error("Failed to compact the schedule log. Exception: ", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Schedule> findById(String id) {
+        return Optional.ofNullable(byId.get(id)).map(EmbeddedScheduleStore::copy);
+    }
+
+    @Override
+    public Schedule save(Schedule schedule) {
+        writeLock.lock();
+        try {
+            if (schedule.getId() == null) {
+                schedule.setId(new ObjectId().toHexString());
+            }
+            put(schedule);
+            sync();
+            return schedule;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Schedule insert(Schedule schedule) {
+        return insertAll(List.of(schedule)).get(0);
+    }
+
+    @Override
+    public List<Schedule> insertAll(Collection<Schedule> schedules) {
+        writeLock.lock();
+        try {
+            // Reject the whole batch before writing anything
+            Set<String> ids = new HashSet<>();
+            for (Schedule schedule : schedules) {
+                if (schedule.getId() != null && (byId.containsKey(schedule.getId()) || !ids.add(schedule.getId()))) {
+                    throw new DuplicateKeyException("Schedule with ID " + schedule.getId() + " already exists");
+                }
+            }
+
+            for (Schedule schedule : schedules) {
+                if (schedule.getId() == null) {
+                    schedule.setId(new ObjectId().toHexString());
+                }
+                put(schedule);
+            }
+            sync();
+            return new ArrayList<>(schedules);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        writeLock.lock();
+        try {
+            if (byId.containsKey(id)) {
+                delete(id);
+                sync();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Schedule> streamPendingSchedulesBetween(Collection<Integer> partitions, Date from, Date to) {
+        return live(byStartDateTime.subSet(IndexKey.first(from.getTime() + 1), true, IndexKey.first(to.getTime() + 1), false),
+                schedule -> partitions.contains(schedule.getPartition()) && !schedule.isExecuted())
+                .map(EmbeddedScheduleStore::copy);
+    }
+
+    @Override
+    public Schedule claimSchedule(String id, String owner, Date now, Date leaseExpiry, boolean withPayload) {
+        writeLock.lock();
+        try {
+            Schedule current = byId.get(id);
+            if (current == null || current.isExecuted()
+                    || current.getStartDateTime() == null || current.getStartDateTime().after(now)
+                    || (current.getLeaseExpiry() != null && current.getLeaseExpiry().after(now))) {
+                return null;
+            }
+
+            Schedule claimed = copy(current);
+            claimed.setLeaseOwner(owner);
+            claimed.setLeaseExpiry(leaseExpiry);
+            put(claimed);
+            sync();
+            return copy(claimed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Schedule updateRequestFields(Schedule changes, Date now) {
+        writeLock.lock();
+        try {
+            Schedule current = byId.get(changes.getId());
+            if (current == null || (current.getLeaseExpiry() != null && current.getLeaseExpiry().after(now))) {
+                return null;
+            }
+
+            Schedule updated = copy(current);
+            updated.setName(changes.getName());
+            updated.setStartDateTime(changes.getStartDateTime());
+            updated.setCallbackUrl(changes.getCallbackUrl());
+            updated.setInfo(changes.getInfo());
+            updated.setUpdateDate(changes.getUpdateDate());
+            if (!sameSeries(current, changes)) {
+                // The series restarts at the new start
+                updated.setSeriesStartDateTime(null);
+            }
+            put(updated);
+            sync();
+            return copy(updated);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int completeSchedules(Collection<ScheduleCompletion> completions) {
+        writeLock.lock();
+        try {
+            int completed = 0;
+            for (ScheduleCompletion completion : completions) {
+                Schedule current = byId.get(completion.getId());
+                if (current == null || !Objects.equals(current.getLeaseOwner(), completion.getOwner())) {
+                    continue;
+                }
+
+                Schedule schedule = copy(current);
+                if (completion.isRetry()) {
+                    // Keep the lease until the retry is due, as the Mongo store does
+                    schedule.setAttemptCount(completion.getAttemptCount());
+                    schedule.setNextAttemptDateTime(completion.getNextAttemptDateTime());
+                    schedule.setLeaseExpiry(completion.getNextAttemptDateTime());
+                } else {
+                    if (completion.isRecurring()) {
+                        // Unless its start time was changed while it was executing
+                        if (!Objects.equals(current.getStartDateTime(), completion.getStartDateTime())) {
+                            continue;
+                        }
+                        schedule.setStartDateTime(completion.getNextStartDateTime());
+                        schedule.setSeriesStartDateTime(completion.getSeriesStartDateTime());
+                    } else {
+                        schedule.setExecuted(true);
+                    }
+                    schedule.setLastExecutionDate(completion.getUpdateDate());
+                    schedule.setAttemptCount(0);
+                    schedule.setNextAttemptDateTime(null);
+                    schedule.setLeaseOwner(null);
+                    schedule.setLeaseExpiry(null);
+                }
+                schedule.setUpdateDate(completion.getUpdateDate());
+
+                put(schedule);
+                completed++;
+            }
+            sync();
+            return completed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteClaimedSchedule(String id, String owner) {
+        writeLock.lock();
+        try {
+            Schedule current = byId.get(id);
+            if (current == null || !Objects.equals(current.getLeaseOwner(), owner)) {
+                return false;
+            }
+            delete(id);
+            sync();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Schedule> streamReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        return live(byStartDateTime.headSet(IndexKey.first(overdueBefore.getTime() + 1), false),
+                reclaimable(partitions, now))
+                .map(EmbeddedScheduleStore::copy);
+    }
+
+    @Override
+    public long countReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        return live(byStartDateTime.headSet(IndexKey.first(overdueBefore.getTime() + 1), false),
+                reclaimable(partitions, now))
+                .count();
+    }
+
+    @Override
+    public int assignPartitions(ToIntFunction<String> partitioner, boolean all) {
+        // Every schedule has a partition here, and checking all of them in memory is cheap
+        writeLock.lock();
+        try {
+            List<Schedule> outdated = byId.values().stream()
+                    .filter(schedule -> schedule.getPartition() != partitioner.applyAsInt(schedule.getId()))
+                    .map(EmbeddedScheduleStore::copy)
+                    .toList();
+
+            for (Schedule schedule : outdated) {
+                schedule.setPartition(partitioner.applyAsInt(schedule.getId()));
+                put(schedule);
+            }
+            sync();
+            return outdated.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int migrateInfoEncoding(int limit) {
+        // The log has its own encoding
+        return 0;
+    }
+
+    @Override
+    public List<Schedule> findPageAfter(ScheduleCursor after, int limit) {
+        NavigableSet<IndexKey> keys = after == null
+                ? byStartDateTime
+                : byStartDateTime.tailSet(new IndexKey(IndexKey.startOf(after.getStartDateTime()), after.getId()), false);
+
+        return find(keys, schedule -> true, limit);
+    }
+
+    @Override
+    public List<Schedule> findMatching(ScheduleQuery query, ScheduleCursor after, int limit) {
+        // The copies are already in memory, so the projection is not applied
+        return find(matchingKeys(query, after), matching(query), limit);
+    }
+
+    @Override
+    public long countMatching(ScheduleQuery query) {
+        return live(matchingKeys(query, null), matching(query)).count();
+    }
+
+    @Override
+    public Stream<Schedule> streamAll() {
+        return live(byStartDateTime, schedule -> true).map(EmbeddedScheduleStore::copy);
+    }
+
+    @Override
+    public Optional<Schedule> findArchivedById(String id) {
+        // Executed schedules stay in the store
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean deleteArchivedById(String id) {
+        return false;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    /**
+     * @param current The stored schedule.
+     * @param changes The new field values.
+     * @return true if the update keeps the start and the recurrence, so the series keeps its anchor.
+     */
+    private static boolean sameSeries(Schedule current, Schedule changes) {
+        ScheduleInfoDTO before = current.getInfo() != null ? current.getInfo() : new ScheduleInfoDTO();
+        ScheduleInfoDTO after = changes.getInfo() != null ? changes.getInfo() : new ScheduleInfoDTO();
+        return Objects.equals(current.getStartDateTime(), changes.getStartDateTime())
+                && before.isRecurring() == after.isRecurring()
+                && Objects.equals(before.getRecurrencePattern(), after.getRecurrencePattern())
+                && Objects.equals(before.getTimeZone(), after.getTimeZone());
+    }
+
+    private static Predicate<Schedule> reclaimable(Collection<Integer> partitions, Date now) {
+        return schedule -> schedule.getStartDateTime() != null
+                && partitions.contains(schedule.getPartition())
+                && !schedule.isExecuted()
+                && (schedule.getLeaseExpiry() == null || !schedule.getLeaseExpiry().after(now));
+    }
+
+    private static Predicate<Schedule> matching(ScheduleQuery query) {
+        return schedule -> (query.getFrom() == null && query.getTo() == null || schedule.getStartDateTime() != null)
+                && (query.getCategory() == null
+                        || schedule.getInfo() != null && schedule.getInfo().getCategory() == query.getCategory())
+                && (query.getPriority() == null
+                        || schedule.getInfo() != null && schedule.getInfo().getPriority() == query.getPriority())
+                && (query.getExecuted() == null || schedule.isExecuted() == query.getExecuted())
+                && (!StringUtils.hasText(query.getNamePrefix())
+                        || schedule.getName() != null && schedule.getName().startsWith(query.getNamePrefix()));
+    }
+
+    /**
+     * Narrows the startDateTime index to the query's range and the position after the cursor.
+     */
+    private NavigableSet<IndexKey> matchingKeys(ScheduleQuery query, ScheduleCursor after) {
+        IndexKey lower = query.getFrom() != null ? IndexKey.first(query.getFrom().getTime()) : null;
+        boolean lowerInclusive = true;
+        if (after != null) {
+            IndexKey afterKey = new IndexKey(IndexKey.startOf(after.getStartDateTime()), after.getId());
+            if (lower == null || afterKey.compareTo(lower) >= 0) {
+                lower = afterKey;
+                lowerInclusive = false;
+            }
+        }
+        IndexKey upper = query.getTo() != null ? IndexKey.first(query.getTo().getTime()) : null;
+
+        // Views of a view reject bounds outside of it
+        if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+            return Collections.emptyNavigableSet();
+        }
+        NavigableSet<IndexKey> keys = byStartDateTime;
+        if (lower != null) {
+            keys = keys.tailSet(lower, lowerInclusive);
+        }
+        if (upper != null) {
+            keys = keys.headSet(upper, false);
+        }
+        return keys;
+    }
+
+    /**
+     * Copies up to limit matching schedules of an index range.
+     */
+    private List<Schedule> find(NavigableSet<IndexKey> keys, Predicate<Schedule> filter, int limit) {
+        return live(keys, filter).limit(limit).map(EmbeddedScheduleStore::copy).toList();
+    }
+
+    /**
+     * Lazily reads the indexed versions of the schedules in an index range, in index order. An entry whose schedule
+     * was deleted or moved since the key was read is skipped; the schedule is met again at its new key if that
+     * lies ahead. The returned instances are the indexed ones and must be copied before they leave the store.
+     */
+    private Stream<Schedule> live(NavigableSet<IndexKey> keys, Predicate<Schedule> filter) {
+        return keys.stream()
+                .map(key -> {
+                    Schedule schedule = byId.get(key.id());
+                    return schedule != null && IndexKey.of(schedule).equals(key) ? schedule : null;
+                })
+                .filter(Objects::nonNull)
+                .filter(filter);
+    }
+
+    /**
+     * Logs and indexes a new version of a schedule. Callers hold the write lock and sync afterwards.
+     */
+    private void put(Schedule schedule) {
+        append(ScheduleLog.PUT, encode(schedule));
+        // Index a private copy, the caller keeps its instance
+        index(copy(schedule));
+    }
+
+    /**
+     * Logs and removes a schedule. Callers hold the write lock and sync afterwards.
+     */
+    private void delete(String id) {
+        append(ScheduleLog.DELETE, id.getBytes(StandardCharsets.UTF_8));
+        unindex(id);
+    }
+
+    private void append(byte type, byte[] payload) {
+        try {
+            scheduleLog.append(type, payload);
+            logRecords++;
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Failed to append to the schedule log", ex);
+        }
+    }
+
+    private void sync() {
+        scheduleLog.sync();
+    }
+
+    private void index(Schedule schedule) {
+        // Replace the version before moving its key, so readers never miss a schedule that did not move
+        IndexKey key = IndexKey.of(schedule);
+        Schedule previous = byId.put(schedule.getId(), schedule);
+        byStartDateTime.add(key);
+        if (previous != null && !IndexKey.of(previous).equals(key)) {
+            byStartDateTime.remove(IndexKey.of(previous));
+        }
+    }
+
+    private void unindex(String id) {
+        Schedule previous = byId.remove(id);
+        if (previous != null) {
+            byStartDateTime.remove(IndexKey.of(previous));
+        }
+    }
+
+    /**
+     * Copies a schedule field by field; dates are immutable by convention and shared, the info object is copied.
+     */
+    private static Schedule copy(Schedule schedule) {
+        return Schedule.builder()
+                .id(schedule.getId())
+                .name(schedule.getName())
+                .partition(schedule.getPartition())
+                .startDateTime(schedule.getStartDateTime())
+                .createDate(schedule.getCreateDate())
+                .updateDate(schedule.getUpdateDate())
+                .executed(schedule.isExecuted())
+                .info(copy(schedule.getInfo()))
+                .callbackUrl(schedule.getCallbackUrl())
+                .leaseOwner(schedule.getLeaseOwner())
+                .leaseExpiry(schedule.getLeaseExpiry())
+                .seriesStartDateTime(schedule.getSeriesStartDateTime())
+                .lastExecutionDate(schedule.getLastExecutionDate())
+                .attemptCount(schedule.getAttemptCount())
+                .nextAttemptDateTime(schedule.getNextAttemptDateTime())
+                .build();
+    }
+
+    private static ScheduleInfoDTO copy(ScheduleInfoDTO info) {
+        if (info == null) {
+            return null;
+        }
+        return new ScheduleInfoDTO(info.getLocation(), info.getCategory(), info.getPriority(),
+                info.getAttendees() != null ? new ArrayList<>(info.getAttendees()) : null, info.isRecurring(),
+                info.getRecurrencePattern(), info.getNotes(), info.getTimeZone(), info.getMissedOccurrencePolicy());
+    }
+
+    private byte[] encode(Schedule schedule) {
+        try {
+            return objectMapper.writeValueAsBytes(schedule);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Schedule decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, Schedule.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Position of a schedule in the startDateTime index, ordered like the Mongo listing: by startDateTime with
+     * schedules without one first, then by ID.
+     */
+    private record IndexKey(long start, String id) implements Comparable<IndexKey> {
+
+        static IndexKey of(Schedule schedule) {
+            return new IndexKey(startOf(schedule.getStartDateTime()), schedule.getId());
+        }
+
+        // The first position at the given time, before every ID
+        static IndexKey first(long start) {
+            return new IndexKey(start, "");
+        }
+
+        static long startOf(Date startDateTime) {
+            return startDateTime != null ? startDateTime.getTime() : Long.MIN_VALUE;
+        }
+
+        @Override
+        public int compareTo(IndexKey other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : id.compareTo(other.id);
+        }
+    }
+}
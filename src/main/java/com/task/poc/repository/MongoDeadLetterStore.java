@@ -0,0 +1,42 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.DeadLetter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Default {@link DeadLetterStore}, backed by dead-letter-collection through {@link DeadLetterRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mongo", matchIfMissing = true)
+public class MongoDeadLetterStore implements DeadLetterStore {
+
+    @Autowired
+    private DeadLetterRepository repository;
+
+    @Override
+    public DeadLetter save(DeadLetter deadLetter) {
+        return repository.save(deadLetter);
+    }
+
+    @Override
+    public Optional<DeadLetter> findById(String id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<DeadLetter> findLatest(int limit) {
+        return repository.findAll(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "deadLetterDate"))).getContent();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        repository.deleteById(id);
+    }
+}
@@ -0,0 +1,137 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Default {@link ScheduleStore}, backed by schedule-collection through {@link SchedulerRepository}.
+ * Shared by every node running against the same database; executed schedules are archived to
+ * {@link ScheduleHistoryRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mongo", matchIfMissing = true)
+public class MongoScheduleStore implements ScheduleStore {
+
+    @Autowired
+    private SchedulerRepository repository;
+
+    @Autowired
+    private ScheduleHistoryRepository historyRepository;
+
+    @Override
+    public Optional<Schedule> findById(String id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public Schedule save(Schedule schedule) {
+        return repository.save(schedule);
+    }
+
+    @Override
+    public Schedule insert(Schedule schedule) {
+        return repository.insert(schedule);
+    }
+
+    @Override
+    public List<Schedule> insertAll(Collection<Schedule> schedules) {
+        return repository.insert(schedules);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    public Stream<Schedule> streamPendingSchedulesBetween(Collection<Integer> partitions, Date from, Date to) {
+        return repository.streamPendingSchedulesBetween(partitions, from, to);
+    }
+
+    @Override
+    public Schedule claimSchedule(String id, String owner, Date now, Date leaseExpiry, boolean withPayload) {
+        return repository.claimSchedule(id, owner, now, leaseExpiry, withPayload);
+    }
+
+    @Override
+    public Schedule updateRequestFields(Schedule changes, Date now) {
+        return repository.updateRequestFields(changes, now);
+    }
+
+    @Override
+    public int completeSchedules(Collection<ScheduleCompletion> completions) {
+        return repository.completeSchedules(completions);
+    }
+
+    @Override
+    public boolean deleteClaimedSchedule(String id, String owner) {
+        return repository.deleteClaimedSchedule(id, owner);
+    }
+
+    @Override
+    public Stream<Schedule> streamReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        return repository.streamReclaimableSchedules(partitions, overdueBefore, now);
+    }
+
+    @Override
+    public long countReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        return repository.countReclaimableSchedules(partitions, overdueBefore, now);
+    }
+
+    @Override
+    public int assignPartitions(ToIntFunction<String> partitioner, boolean all) {
+        return repository.assignPartitions(partitioner, all);
+    }
+
+    @Override
+    public int migrateInfoEncoding(int limit) {
+        return repository.migrateInfoEncoding(limit);
+    }
+
+    @Override
+    public List<Schedule> findPageAfter(ScheduleCursor after, int limit) {
+        return repository.findPageAfter(after, limit);
+    }
+
+    @Override
+    public List<Schedule> findMatching(ScheduleQuery query, ScheduleCursor after, int limit) {
+        return repository.findMatching(query, after, limit);
+    }
+
+    @Override
+    public long countMatching(ScheduleQuery query) {
+        return repository.countMatching(query);
+    }
+
+    @Override
+    public Stream<Schedule> streamAll() {
+        return repository.streamAll();
+    }
+
+    @Override
+    public Optional<Schedule> findArchivedById(String id) {
+        return historyRepository.findById(id);
+    }
+
+    @Override
+    public boolean deleteArchivedById(String id) {
+        return historyRepository.deleteById(id);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return false;
+    }
+}
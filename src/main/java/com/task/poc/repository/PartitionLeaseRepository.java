@@ -0,0 +1,150 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.SchedulePartition;
+import com.task.poc.models.database.SchedulerNodeHeartbeat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Partition ownership leases and node heartbeats in the coordination collections.
+ * Like schedule claiming, every ownership change is a single conditional update, so two nodes never both
+ * take the same partition. Only used with the shared Mongo store.
+ */
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mongo", matchIfMissing = true)
+public class PartitionLeaseRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the lease documents of partitions 0 to count - 1 that do not exist yet, unowned.
+     *
+     * @param count The number of partitions.
+     */
+    public void ensurePartitions(int count) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SchedulePartition.class);
+        for (int partition = 0; partition < count; partition++) {
+            operations.upsert(new Query(Criteria.where("_id").is(partition)),
+                    new Update().setOnInsert("leaseExpiry", new Date(0)));
+        }
+        operations.execute();
+    }
+
+    /**
+     * @return Number of partition lease documents, the partition count the deployment last ran with.
+     */
+    public long countPartitions() {
+        return mongoTemplate.count(new Query(), SchedulePartition.class);
+    }
+
+    /**
+     * Removes the lease documents of partitions count and above, left over from a larger partition count.
+     *
+     * @param count The number of partitions.
+     * @return Number of lease documents removed.
+     */
+    public long removePartitionsFrom(int count) {
+        return mongoTemplate.remove(new Query(Criteria.where("_id").gte(count)), SchedulePartition.class).getDeletedCount();
+    }
+
+    /**
+     * Records that a node is alive.
+     *
+     * @param nodeId The node ID.
+     * @param expiry The time until which the node counts as alive.
+     */
+    public void heartbeat(String nodeId, Date expiry) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(nodeId)),
+                new Update().set("heartbeatExpiry", expiry), SchedulerNodeHeartbeat.class);
+    }
+
+    /**
+     * Removes the heartbeat of a node that shuts down.
+     *
+     * @param nodeId The node ID.
+     */
+    public void removeHeartbeat(String nodeId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(nodeId)), SchedulerNodeHeartbeat.class);
+    }
+
+    /**
+     * @param now The current time.
+     * @return Number of nodes whose heartbeat has not expired.
+     */
+    public long countLiveNodes(Date now) {
+        return mongoTemplate.count(new Query(Criteria.where("heartbeatExpiry").gt(now)), SchedulerNodeHeartbeat.class);
+    }
+
+    /**
+     * Extends every lease the node still holds. Leases another node has taken over meanwhile are not touched.
+     *
+     * @param owner  The node ID.
+     * @param expiry The new lease expiry.
+     * @return The partitions the node owns.
+     */
+    public List<Integer> renewLeases(String owner, Date expiry) {
+        Query owned = new Query(Criteria.where("owner").is(owner));
+        mongoTemplate.updateMulti(owned, new Update().set("leaseExpiry", expiry), SchedulePartition.class);
+
+        owned.fields().include("_id");
+        return mongoTemplate.find(owned, SchedulePartition.class).stream()
+                .map(SchedulePartition::getId)
+                .toList();
+    }
+
+    /**
+     * @param now The current time.
+     * @return The partitions that are unowned or whose lease has expired.
+     */
+    public List<Integer> findAcquirable(Date now) {
+        Query query = new Query(acquirable(now));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, SchedulePartition.class).stream()
+                .map(SchedulePartition::getId)
+                .toList();
+    }
+
+    /**
+     * Takes a partition if it is unowned or its lease has expired.
+     *
+     * @param partition The partition.
+     * @param owner     The node taking the partition.
+     * @param now       The current time.
+     * @param expiry    The lease expiry.
+     * @return true if the node now owns the partition.
+     */
+    public boolean tryAcquire(int partition, String owner, Date now, Date expiry) {
+        Query query = new Query(Criteria.where("_id").is(partition)).addCriteria(acquirable(now));
+        Update update = new Update().set("owner", owner).set("leaseExpiry", expiry);
+        return mongoTemplate.updateFirst(query, update, SchedulePartition.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Gives up partitions the node owns, so other nodes can take them right away.
+     *
+     * @param partitions The partitions to release.
+     * @param owner      The node releasing them.
+     */
+    public void release(Collection<Integer> partitions, String owner) {
+        Query query = new Query(Criteria.where("_id").in(partitions).and("owner").is(owner));
+        Update update = new Update().set("owner", null).set("leaseExpiry", new Date(0));
+        mongoTemplate.updateMulti(query, update, SchedulePartition.class);
+    }
+
+    private static Criteria acquirable(Date now) {
+        return new Criteria().orOperator(
+                Criteria.where("owner").is(null),
+                Criteria.where("leaseExpiry").lte(now));
+    }
+}
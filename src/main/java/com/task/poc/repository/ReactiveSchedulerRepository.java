@@ -0,0 +1,11 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking access to schedule-collection for the API of the reactive profile.
+ * The dispatcher keeps using {@link ScheduleStore}.
+ */
+public interface ReactiveSchedulerRepository extends ReactiveMongoRepository<Schedule, String>, ReactiveSchedulerRepositoryCustom {
+}
@@ -0,0 +1,70 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+/**
+ * Reactive counterparts of the listing, query, update and history operations of {@link SchedulerRepositoryCustom}.
+ */
+public interface ReactiveSchedulerRepositoryCustom {
+
+    /**
+     * Writes the fields an update request carries with a single conditional $set, while no node holds a valid
+     * lease on the schedule. See {@link SchedulerRepositoryCustom#updateRequestFields(Schedule, Date)}.
+     *
+     * @param changes The new field values; its ID selects the schedule.
+     * @param now     The current time, used to detect expired leases.
+     * @return Mono of the updated schedule, empty if it does not exist or is leased.
+     */
+    Mono<Schedule> updateRequestFields(Schedule changes, Date now);
+
+    /**
+     * Finds one page of schedules ordered by startDateTime and ID, starting after the given keyset position.
+     *
+     * @param after The position of the last schedule of the previous page, or null for the first page.
+     * @param limit The maximum number of schedules to return.
+     * @return Flux of the schedules on the page.
+     */
+    Flux<Schedule> findPageAfter(ScheduleCursor after, int limit);
+
+    /**
+     * Finds one page of the schedules matching a query, ordered by startDateTime and ID, starting after the given
+     * keyset position. Only the requested fields, the ID and startDateTime are read.
+     *
+     * @param query The filters and projection.
+     * @param after The position of the last schedule of the previous page, or null for the first page.
+     * @param limit The maximum number of schedules to return.
+     * @return Flux of the matching schedules on the page.
+     */
+    Flux<Schedule> findMatching(ScheduleQuery query, ScheduleCursor after, int limit);
+
+    /**
+     * @param query The filters; the projection is ignored.
+     * @return Number of schedules matching the filters.
+     */
+    Mono<Long> countMatching(ScheduleQuery query);
+
+    /**
+     * Streams every schedule ordered by startDateTime and ID, fetched from a cursor in batches as demanded.
+     *
+     * @return Flux of all schedules.
+     */
+    Flux<Schedule> streamAll();
+
+    /**
+     * @param id The ID of the schedule.
+     * @return The schedule from the history collection, or empty if it has not been archived.
+     */
+    Mono<Schedule> findArchivedById(String id);
+
+    /**
+     * @param id The ID of the schedule.
+     * @return true if an archived schedule was deleted.
+     */
+    Mono<Boolean> deleteArchivedById(String id);
+}
@@ -0,0 +1,73 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+public class ReactiveSchedulerRepositoryCustomImpl implements ReactiveSchedulerRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Number of documents fetched per cursor round trip when streaming
+    @Value("${scheduler.dispatch.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    @Override
+    public Mono<Schedule> updateRequestFields(Schedule changes, Date now) {
+        return reactiveMongoTemplate.findAndModify(SchedulerRepositoryCustomImpl.sameSeriesQuery(changes, now),
+                        SchedulerRepositoryCustomImpl.requestFieldsUpdate(changes),
+                        FindAndModifyOptions.options().returnNew(true), Schedule.class)
+                // The start or the recurrence changed, so the series restarts at the new start
+                .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate.findAndModify(
+                        SchedulerRepositoryCustomImpl.unleasedQuery(changes.getId(), now),
+                        SchedulerRepositoryCustomImpl.seriesRestartUpdate(changes),
+                        FindAndModifyOptions.options().returnNew(true), Schedule.class)));
+    }
+
+    @Override
+    public Flux<Schedule> findPageAfter(ScheduleCursor after, int limit) {
+        return reactiveMongoTemplate.find(SchedulerRepositoryCustomImpl.pageQuery(after, limit), Schedule.class);
+    }
+
+    @Override
+    public Flux<Schedule> findMatching(ScheduleQuery query, ScheduleCursor after, int limit) {
+        return reactiveMongoTemplate.find(SchedulerRepositoryCustomImpl.matchingPageQuery(query, after, limit),
+                Schedule.class);
+    }
+
+    @Override
+    public Mono<Long> countMatching(ScheduleQuery query) {
+        return reactiveMongoTemplate.count(SchedulerRepositoryCustomImpl.matchingQuery(query, null), Schedule.class);
+    }
+
+    @Override
+    public Flux<Schedule> streamAll() {
+        Query query = new Query()
+                .with(SchedulerRepositoryCustomImpl.LISTING_ORDER)
+                .cursorBatchSize(cursorBatchSize);
+
+        return reactiveMongoTemplate.find(query, Schedule.class);
+    }
+
+    @Override
+    public Mono<Schedule> findArchivedById(String id) {
+        return reactiveMongoTemplate.findById(id, Schedule.class, ScheduleHistoryRepository.COLLECTION);
+    }
+
+    @Override
+    public Mono<Boolean> deleteArchivedById(String id) {
+        return reactiveMongoTemplate.remove(new Query(Criteria.where("_id").is(id)), ScheduleHistoryRepository.COLLECTION)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+}
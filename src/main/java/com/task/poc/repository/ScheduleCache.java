@@ -0,0 +1,96 @@
+package com.task.poc.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.poc.models.database.Schedule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of {@link ScheduleStore#findById(String)}, falling back to the
+ * schedule history for schedules that have been archived.
+ * Bounded by size (W-TinyLFU eviction) and by a time-to-live, which also bounds how long another node's
+ * writes can stay invisible, since invalidations are local to this node. Cached schedules are shared and
+ * must not be modified; hit, miss and eviction statistics are exposed as cache_* metrics (cache="schedules").
+ */
+@Component
+public class ScheduleCache {
+
+    @Autowired
+    private ScheduleStore store;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${scheduler.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${scheduler.cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    private Cache<String, Schedule> cache;
+
+    @PostConstruct
+    public void createCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "schedules");
+    }
+
+    /**
+     * Looks a schedule up in the cache, loading it from the store, or from the history once archived,
+     * on a miss. Missing schedules are not cached.
+     *
+     * @param id The ID of the schedule.
+     * @return The schedule, if it exists.
+     */
+    public Optional<Schedule> findById(String id) {
+        return Optional.ofNullable(cache.get(id, key -> store.findById(key)
+                .or(() -> store.findArchivedById(key))
+                .orElse(null)));
+    }
+
+    /**
+     * Looks a schedule up in the cache without loading it on a miss, for callers that must not block.
+     *
+     * @param id The ID of the schedule.
+     * @return The cached schedule, or empty if it is not cached.
+     */
+    public Optional<Schedule> getIfPresent(String id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Stores a freshly saved schedule.
+     *
+     * @param schedule The saved schedule.
+     */
+    public void put(Schedule schedule) {
+        cache.put(schedule.getId(), schedule);
+    }
+
+    /**
+     * @param id The ID of a schedule that was changed or deleted.
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * @param ids The IDs of schedules that were changed or deleted.
+     */
+    public void invalidateAll(Collection<String> ids) {
+        cache.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,100 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Executed one-shot schedules moved out of schedule-collection into the schedule-history collection.
+ * History documents keep the schedule's shape and expire through a TTL index on lastExecutionDate.
+ */
+@Repository
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mongo", matchIfMissing = true)
+public class ScheduleHistoryRepository {
+
+    public static final String COLLECTION = "schedule-history";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the TTL index that removes history documents once the retention period after their execution
+     * has passed. Changing the retention of an existing index requires dropping it first.
+     *
+     * @param retention How long archived schedules are kept after their execution.
+     */
+    public void ensureRetentionIndex(Duration retention) {
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("lastExecutionDate", Sort.Direction.ASC)
+                .named("lastExecutionDate_ttl")
+                .expire(retention));
+    }
+
+    /**
+     * Finds executed schedules of the given partitions that are ready to be archived.
+     * Recurring schedules are never marked executed, so only one-shot schedules match.
+     *
+     * @param partitions     The partitions to read.
+     * @param executedBefore Only schedules executed at or before this time are returned.
+     * @param limit          The maximum number of schedules to return.
+     * @return The schedules to archive.
+     */
+    public List<Schedule> findArchivable(Collection<Integer> partitions, Date executedBefore, int limit) {
+        Query query = new Query(Criteria.where("partition").in(partitions)
+                .and("executed").is(true)
+                .and("lastExecutionDate").lte(executedBefore))
+                .limit(limit);
+
+        return mongoTemplate.find(query, Schedule.class);
+    }
+
+    /**
+     * Copies schedules into the history collection and then removes them from schedule-collection.
+     * Copies are upserts, so a batch interrupted between both steps is simply archived again.
+     *
+     * @param schedules The executed schedules to archive.
+     * @return Number of schedules removed from schedule-collection.
+     */
+    public long archive(List<Schedule> schedules) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Schedule.class, COLLECTION);
+        for (Schedule schedule : schedules) {
+            operations.replaceOne(new Query(Criteria.where("_id").is(schedule.getId())), schedule,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        operations.execute();
+
+        List<String> ids = schedules.stream().map(Schedule::getId).toList();
+        Query archived = new Query(Criteria.where("_id").in(ids).and("executed").is(true));
+        return mongoTemplate.remove(archived, Schedule.class).getDeletedCount();
+    }
+
+    /**
+     * @param id The ID of the schedule.
+     * @return The archived schedule, if it exists.
+     */
+    public Optional<Schedule> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, Schedule.class, COLLECTION));
+    }
+
+    /**
+     * @param id The ID of the archived schedule to delete.
+     * @return true if an archived schedule was deleted.
+     */
+    public boolean deleteById(String id) {
+        return mongoTemplate.remove(new Query(Criteria.where("_id").is(id)), COLLECTION).getDeletedCount() > 0;
+    }
+}
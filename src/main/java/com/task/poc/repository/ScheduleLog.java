@@ -0,0 +1,266 @@
+package com.task.poc.repository;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped record log behind {@link EmbeddedScheduleStore} and {@link EmbeddedDeadLetterStore}.
+ * Every record is an int length (type and payload), an int CRC32 of type and payload, a type byte and the payload.
+ * The file is pre-allocated and zero-filled, so a zero length marks the end of the log; the mapping doubles
+ * when full, up to 2 GB. Mappings that are replaced, by growth, compaction or close, are released right away instead
+ * of whenever the garbage collector gets to them. A log is not thread-safe, the store serializes access.
+ */
+@Log4j2
+final class ScheduleLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // Unsafe.invokeCleaner bound to the Unsafe instance, null if the JDK does not allow it
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final Path path;
+    private final int initialCapacity;
+    private final boolean syncWrites;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;       // End of the last record
+    private int syncedPosition; // End of the last record forced to disk
+
+    /**
+     * Receives the records of the log in the order they were appended.
+     */
+    interface RecordHandler {
+        void accept(byte type, byte[] payload);
+    }
+
+    /**
+     * Opens or creates a log. Call {@link #recover(RecordHandler)} before appending to an existing log.
+     *
+     * @param path            The log file.
+     * @param initialCapacity Bytes pre-allocated for a new log.
+     * @param syncWrites      Whether {@link #sync()} forces appended records to disk.
+     */
+    ScheduleLog(Path path, int initialCapacity, boolean syncWrites) throws IOException {
+        this.path = path;
+        this.initialCapacity = initialCapacity;
+        this.syncWrites = syncWrites;
+        map();
+    }
+
+    /**
+     * Replays every intact record and positions the log after the last one. A truncated or corrupt record is
+     * where a crash interrupted the last write; it and anything after it are discarded.
+     *
+     * @param handler Receives the intact records.
+     * @return Number of records replayed.
+     */
+    int recover(RecordHandler handler) {
+        int offset = 0;
+        int records = 0;
+
+        while (offset + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > buffer.capacity() - offset - HEADER_BYTES) {
+                break;
+            }
+
+            byte[] record = new byte[length];
+            buffer.get(offset + HEADER_BYTES, record);
+            if (checksum(record, 0, length) != buffer.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+
+            handler.accept(record[0], Arrays.copyOfRange(record, 1, length));
+            offset += HEADER_BYTES + length;
+            records++;
+        }
+
+        if (offset + Integer.BYTES <= buffer.capacity() && buffer.getInt(offset) != 0) {
+            // Clear the torn tail, so it is not mistaken for records once new ones are appended before it
+            log.warn("Discarding the damaged tail of {} after {} intact records.", path, records);
+            byte[] zeros = new byte[64 * 1024];
+            for (int i = offset; i < buffer.capacity(); i += zeros.length) {
+                buffer.put(i, zeros, 0, Math.min(zeros.length, buffer.capacity() - i));
+            }
+            buffer.force();
+        }
+
+        position = offset;
+        syncedPosition = offset;
+        return records;
+    }
+
+    /**
+     * Appends a record. It is durable once {@link #sync()} returns.
+     *
+     * @param type    {@link #PUT} or {@link #DELETE}.
+     * @param payload The record's payload.
+     */
+    void append(byte type, byte[] payload) throws IOException {
+        int length = payload.length + 1;
+        ensureCapacity((long) position + HEADER_BYTES + length);
+
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+
+        buffer.putInt(position, length);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.put(position + HEADER_BYTES, type);
+        buffer.put(position + HEADER_BYTES + 1, payload);
+        position += HEADER_BYTES + length;
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk, if sync-writes is enabled.
+     */
+    void sync() {
+        if (syncWrites && position > syncedPosition) {
+            buffer.force(syncedPosition, position - syncedPosition);
+        }
+        syncedPosition = position;
+    }
+
+    /**
+     * @return Bytes used by the records of the log.
+     */
+    int size() {
+        return position;
+    }
+
+    /**
+     * Replaces the log with one holding only the given PUT payloads. The compacted log is written to a separate
+     * file, forced to disk and then atomically renamed over this one, so a crash leaves either log intact.
+     *
+     * @param payloads The payloads of the live records.
+     */
+    void compact(Collection<byte[]> payloads) throws IOException {
+        Path compactedPath = compactionPath(path);
+        Files.deleteIfExists(compactedPath);
+
+        int compactedSize;
+        try (ScheduleLog compacted = new ScheduleLog(compactedPath, initialCapacity, true)) {
+            for (byte[] payload : payloads) {
+                compacted.append(PUT, payload);
+            }
+            compacted.buffer.force();
+            compactedSize = compacted.position;
+        }
+
+        // The current log stays usable if the rename fails
+        Files.move(compactedPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+
+        channel.close();
+        unmap(buffer);
+        map();
+        position = compactedSize;
+        syncedPosition = compactedSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+        unmap(buffer);
+        // Fail on later use instead of touching the released mapping
+        buffer = null;
+    }
+
+    /**
+     * @param path A log file.
+     * @return The file a compaction of the log is written to.
+     */
+    static Path compactionPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long capacity = Math.min(Math.max(channel.size(), initialCapacity), MAX_CAPACITY);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > MAX_CAPACITY) {
+            throw new IOException("Schedule log " + path + " is full, compaction cannot keep up");
+        }
+
+        // Mapping beyond the end of the file extends it with zeros
+        buffer.force();
+        long capacity = Math.min(Math.max((long) buffer.capacity() * 2, required), MAX_CAPACITY);
+        MappedByteBuffer previous = buffer;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        unmap(previous);
+        log.info("Grew schedule log {} to {} bytes.", path, capacity);
+    }
+
+    private void syncDirectory() {
+        Path directory = path.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ex) {
+            // Not supported on every platform, the rename is still atomic
+            log.debug("Could not sync directory {}: {}", directory, ex.getMessage());
+        }
+    }
+
+    /**
+     * Releases a mapping that is no longer used. Without this the file stays mapped until the buffer is
+     * garbage collected, which keeps address space and, on some platforms, the replaced file in use.
+     */
+    private static void unmap(MappedByteBuffer mapped) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact((ByteBuffer) mapped);
+        } catch (Throwable ex) {
+            log.warn("Failed to release a schedule log mapping: {}", ex.getMessage());
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.warn("Schedule log mappings are released by the garbage collector: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
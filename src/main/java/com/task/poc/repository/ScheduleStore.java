@@ -0,0 +1,69 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of the schedules read and written by the API and the dispatcher.
+ * {@link MongoScheduleStore} is the default; {@link EmbeddedScheduleStore} keeps schedules in this process
+ * for single-node deployments (scheduler.store.type=embedded).
+ * Returned schedules belong to the caller, changes to them are only stored by passing them back.
+ */
+public interface ScheduleStore extends SchedulerRepositoryCustom {
+
+    /**
+     * @param id The ID of the schedule.
+     * @return The schedule, if it exists.
+     */
+    Optional<Schedule> findById(String id);
+
+    /**
+     * Inserts or replaces a schedule, assigning an ID to new schedules.
+     *
+     * @param schedule The schedule to store.
+     * @return The stored schedule.
+     */
+    Schedule save(Schedule schedule);
+
+    /**
+     * Inserts a new schedule, assigning an ID if it has none.
+     *
+     * @param schedule The schedule to insert.
+     * @return The inserted schedule.
+     * @throws org.springframework.dao.DuplicateKeyException if a schedule with the same ID exists.
+     */
+    Schedule insert(Schedule schedule);
+
+    /**
+     * Inserts a batch of new schedules, assigning IDs to those without one.
+     *
+     * @param schedules The schedules to insert.
+     * @return The inserted schedules.
+     */
+    List<Schedule> insertAll(Collection<Schedule> schedules);
+
+    /**
+     * @param id The ID of the schedule to delete.
+     */
+    void deleteById(String id);
+
+    /**
+     * @param id The ID of the schedule.
+     * @return The schedule from the history, or empty if it has not been archived or the store keeps no history.
+     */
+    Optional<Schedule> findArchivedById(String id);
+
+    /**
+     * @param id The ID of the archived schedule to delete.
+     * @return true if an archived schedule was deleted.
+     */
+    boolean deleteArchivedById(String id);
+
+    /**
+     * @return true if the store lives in this process, so no other node reads or writes its schedules.
+     */
+    boolean isLocal();
+}
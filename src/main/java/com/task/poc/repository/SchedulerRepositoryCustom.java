@@ -0,0 +1,151 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Atomic schedule operations that cannot be expressed as derived or annotated queries.
+ */
+public interface SchedulerRepositoryCustom {
+
+    /**
+     * Streams schedules of the given partitions that are pending execution within a time window
+     * (from < startDateTime <= to and not executed), oldest first. Only the dispatch projection is read,
+     * without the payload fields. Documents are fetched from a cursor in batches, the caller must close the stream.
+     *
+     * @param partitions The partitions to read.
+     * @param from       Exclusive start of the window.
+     * @param to         Inclusive end of the window.
+     * @return Stream of pending schedules in the window.
+     */
+    Stream<Schedule> streamPendingSchedulesBetween(Collection<Integer> partitions, Date from, Date to);
+
+    /**
+     * Atomically claims a due schedule for execution by taking its lease.
+     * Succeeds only if the schedule is still pending, due, and its lease is free or expired.
+     *
+     * @param id          The ID of the schedule to claim.
+     * @param owner       The node taking the lease.
+     * @param now         The current time.
+     * @param leaseExpiry The time at which the lease expires.
+     * @param withPayload Whether to return the payload fields too, or only the dispatch projection.
+     * @return The claimed schedule, or null if another node holds it or it is no longer due.
+     */
+    Schedule claimSchedule(String id, String owner, Date now, Date leaseExpiry, boolean withPayload);
+
+    /**
+     * Writes the fields an update request carries (name, startDateTime, callbackUrl, info and updateDate) with a
+     * single conditional $set, leaving execution state, attempts, lease and partition untouched.
+     * Succeeds only while no node holds a valid lease, so an update never races a delivery or a pending retry.
+     *
+     * @param changes The new field values; its ID selects the schedule.
+     * @param now     The current time, used to detect expired leases.
+     * @return The updated schedule, or null if it does not exist or is leased.
+     */
+    Schedule updateRequestFields(Schedule changes, Date now);
+
+    /**
+     * Writes back a batch of finished executions with one unordered bulk update: one-shot schedules are marked
+     * executed, recurring ones are advanced to their next occurrence, and all leases are released.
+     * Failed deliveries that will be retried record their attempt instead and keep the lease until the retry is due.
+     * Each schedule is only updated while its lease is still held by the recorded owner.
+     * The write is acknowledged by a majority of replica set members and journaled.
+     *
+     * @param completions The finished executions.
+     * @return Number of schedules that were updated.
+     */
+    int completeSchedules(Collection<ScheduleCompletion> completions);
+
+    /**
+     * Deletes a schedule, but only while the given node still holds its lease.
+     *
+     * @param id    The ID of the schedule to delete.
+     * @param owner The node that must hold the lease.
+     * @return true if the schedule was deleted.
+     */
+    boolean deleteClaimedSchedule(String id, String owner);
+
+    /**
+     * Streams overdue schedules of the given partitions that nobody holds a valid lease on, oldest first, e.g. those
+     * left behind by a crashed node or the backlog that built up during downtime. Only the dispatch projection
+     * is read. Documents are fetched from a cursor in batches, the caller must close the stream.
+     *
+     * @param partitions    The partitions to read.
+     * @param overdueBefore Only schedules starting at or before this time are returned.
+     * @param now           The current time, used to detect expired leases.
+     * @return Stream of reclaimable schedules.
+     */
+    Stream<Schedule> streamReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now);
+
+    /**
+     * Counts the schedules {@link #streamReclaimableSchedules(Collection, Date, Date)} would return.
+     *
+     * @param partitions    The partitions to read.
+     * @param overdueBefore Only schedules starting at or before this time are counted.
+     * @param now           The current time, used to detect expired leases.
+     * @return Number of reclaimable schedules.
+     */
+    long countReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now);
+
+    /**
+     * Sets the partition of schedules whose stored partition differs from the one of their ID, in unordered bulk
+     * updates of one cursor batch each.
+     *
+     * @param partitioner Maps a schedule ID to its partition.
+     * @param all         true to check every schedule, e.g. after the partition count changed; false to only set
+     *                    the partition of schedules stored before partitioning.
+     * @return Number of schedules that were updated.
+     */
+    int assignPartitions(ToIntFunction<String> partitioner, boolean all);
+
+    /**
+     * Rewrites the info object of schedules still stored in the default encoding, which is written in the compact
+     * encoding once scheduler.store.compact-encoding is enabled.
+     *
+     * @param limit The maximum number of schedules to rewrite.
+     * @return Number of schedules that were rewritten.
+     */
+    int migrateInfoEncoding(int limit);
+
+    /**
+     * Finds one page of schedules ordered by startDateTime and ID, starting after the given keyset position.
+     *
+     * @param after The position of the last schedule of the previous page, or null for the first page.
+     * @param limit The maximum number of schedules to return.
+     * @return List of schedules on the page.
+     */
+    List<Schedule> findPageAfter(ScheduleCursor after, int limit);
+
+    /**
+     * Finds one page of the schedules matching a query, ordered by startDateTime and ID, starting after the given
+     * keyset position. Only the requested fields, the ID and startDateTime are read; stores may return more.
+     *
+     * @param query The filters and projection.
+     * @param after The position of the last schedule of the previous page, or null for the first page.
+     * @param limit The maximum number of schedules to return.
+     * @return List of matching schedules on the page.
+     */
+    List<Schedule> findMatching(ScheduleQuery query, ScheduleCursor after, int limit);
+
+    /**
+     * @param query The filters; the projection is ignored.
+     * @return Number of schedules matching the filters.
+     */
+    long countMatching(ScheduleQuery query);
+
+    /**
+     * Streams every schedule ordered by startDateTime and ID. Documents are fetched from a cursor in batches,
+     * the caller must close the stream.
+     *
+     * @return Stream of all schedules.
+     */
+    Stream<Schedule> streamAll();
+}
@@ -0,0 +1,412 @@
+package com.task.poc.repository;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate based implementation of {@link SchedulerRepositoryCustom}.
+ * Every state change is a single conditional update, so concurrent nodes never both win the same schedule.
+ */
+public class SchedulerRepositoryCustomImpl implements SchedulerRepositoryCustom {
+
+    // Keyset order of the schedule listing, backed by the startDateTime_id index
+    static final Sort LISTING_ORDER = Sort.by(Sort.Direction.ASC, "startDateTime", "_id");
+
+    private static final Pattern REGEX_METACHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Fields the dispatcher does not need, left out of window loads, overdue scans and claims; compact names included
+    private static final String[] PAYLOAD_FIELDS = {"name", "createDate", "lastExecutionDate",
+            "info.location", "info.attendees", "info.notes", "info.l", "info.a", "info.n"};
+
+    // Number of documents fetched per cursor round trip when streaming
+    @Value("${scheduler.dispatch.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    @Override
+    public Stream<Schedule> streamPendingSchedulesBetween(Collection<Integer> partitions, Date from, Date to) {
+        Query query = new Query(Criteria.where("partition").in(partitions)
+                .and("executed").is(false)
+                .and("startDateTime").gt(from).lte(to))
+                .with(Sort.by(Sort.Direction.ASC, "startDateTime"))
+                .cursorBatchSize(cursorBatchSize);
+        query.fields().exclude(PAYLOAD_FIELDS);
+
+        return mongoTemplate.stream(query, Schedule.class);
+    }
+
+    @Override
+    public Schedule claimSchedule(String id, String owner, Date now, Date leaseExpiry, boolean withPayload) {
+        Query query = new Query(Criteria.where("_id").is(id)
+                .and("executed").is(false)
+                .and("startDateTime").lte(now)
+                .orOperator(
+                        Criteria.where("leaseExpiry").is(null),
+                        Criteria.where("leaseExpiry").lte(now)));
+        if (!withPayload) {
+            query.fields().exclude(PAYLOAD_FIELDS);
+        }
+
+        Update update = new Update()
+                .set("leaseOwner", owner)
+                .set("leaseExpiry", leaseExpiry);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Schedule.class);
+    }
+
+    @Override
+    public Schedule updateRequestFields(Schedule changes, Date now) {
+        Schedule updated = mongoTemplate.findAndModify(sameSeriesQuery(changes, now), requestFieldsUpdate(changes),
+                FindAndModifyOptions.options().returnNew(true), Schedule.class);
+        if (updated != null) {
+            return updated;
+        }
+
+        // The start or the recurrence changed, so the series restarts at the new start
+        return mongoTemplate.findAndModify(unleasedQuery(changes.getId(), now), seriesRestartUpdate(changes),
+                FindAndModifyOptions.options().returnNew(true), Schedule.class);
+    }
+
+    /**
+     * @param id  The ID of the schedule.
+     * @param now The current time, used to detect expired leases.
+     * @return Query for the schedule while no node holds a valid lease on it.
+     */
+    static Query unleasedQuery(String id, Date now) {
+        return new Query(Criteria.where("_id").is(id)
+                .orOperator(
+                        Criteria.where("leaseExpiry").is(null),
+                        Criteria.where("leaseExpiry").lte(now)));
+    }
+
+    /**
+     * Matches the compact info encoding only; a legacy document never matches and restarts its series.
+     *
+     * @param changes The new field values.
+     * @param now     The current time, used to detect expired leases.
+     * @return Query for the unleased schedule if the update keeps its start and recurrence.
+     */
+    static Query sameSeriesQuery(Schedule changes, Date now) {
+        ScheduleInfoDTO info = changes.getInfo() != null ? changes.getInfo() : new ScheduleInfoDTO();
+        return unleasedQuery(changes.getId(), now).addCriteria(Criteria.where("startDateTime").is(changes.getStartDateTime())
+                .and("info." + CompactScheduleInfo.RECURRING).is(info.isRecurring() ? true : null)
+                .and("info." + CompactScheduleInfo.RECURRENCE_PATTERN).is(info.getRecurrencePattern())
+                .and("info." + CompactScheduleInfo.TIME_ZONE).is(info.getTimeZone()));
+    }
+
+    /**
+     * @param changes The new field values.
+     * @return Update setting only the fields an update request carries.
+     */
+    static Update requestFieldsUpdate(Schedule changes) {
+        return new Update()
+                .set("name", changes.getName())
+                .set("startDateTime", changes.getStartDateTime())
+                .set("callbackUrl", changes.getCallbackUrl())
+                .set("info", changes.getInfo())
+                .set("updateDate", changes.getUpdateDate());
+    }
+
+    /**
+     * @param changes The new field values.
+     * @return Update setting the request fields and dropping the series anchor, so the next occurrence is
+     * counted from the new start.
+     */
+    static Update seriesRestartUpdate(Schedule changes) {
+        return requestFieldsUpdate(changes).unset("seriesStartDateTime");
+    }
+
+    @Override
+    public int completeSchedules(Collection<ScheduleCompletion> completions) {
+        List<UpdateOneModel<Document>> updates = new ArrayList<>(completions.size());
+        for (ScheduleCompletion completion : completions) {
+            updates.add(toUpdate(completion));
+        }
+
+        BulkWriteResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Schedule.class))
+                .withWriteConcern(WriteConcern.MAJORITY.withJournal(true))
+                .bulkWrite(updates, new BulkWriteOptions().ordered(false));
+
+        return result.getModifiedCount();
+    }
+
+    /**
+     * @param completion A finished execution.
+     * @return The conditional update writing it back.
+     */
+    private static UpdateOneModel<Document> toUpdate(ScheduleCompletion completion) {
+        if (completion.isRetry()) {
+            // Keep the lease until the retry is due, so no other node picks the schedule up earlier
+            return new UpdateOneModel<>(
+                    Filters.and(Filters.eq("_id", completion.getId()),
+                            Filters.eq("leaseOwner", completion.getOwner())),
+                    Updates.combine(
+                            Updates.set("attemptCount", completion.getAttemptCount()),
+                            Updates.set("nextAttemptDateTime", completion.getNextAttemptDateTime()),
+                            Updates.set("leaseExpiry", completion.getNextAttemptDateTime()),
+                            Updates.set("updateDate", completion.getUpdateDate())));
+        }
+
+        if (completion.isRecurring()) {
+            // Advance the series in place, unless its start time was changed while it was executing
+            return new UpdateOneModel<>(
+                    Filters.and(Filters.eq("_id", completion.getId()),
+                            Filters.eq("leaseOwner", completion.getOwner()),
+                            Filters.eq("startDateTime", completion.getStartDateTime())),
+                    Updates.combine(
+                            Updates.set("startDateTime", completion.getNextStartDateTime()),
+                            Updates.set("seriesStartDateTime", completion.getSeriesStartDateTime()),
+                            Updates.set("lastExecutionDate", completion.getUpdateDate()),
+                            Updates.set("updateDate", completion.getUpdateDate()),
+                            Updates.set("attemptCount", 0),
+                            Updates.unset("nextAttemptDateTime"),
+                            Updates.unset("leaseOwner"),
+                            Updates.unset("leaseExpiry")));
+        }
+
+        return new UpdateOneModel<>(
+                Filters.and(Filters.eq("_id", completion.getId()),
+                        Filters.eq("leaseOwner", completion.getOwner())),
+                Updates.combine(
+                        Updates.set("executed", true),
+                        Updates.set("lastExecutionDate", completion.getUpdateDate()),
+                        Updates.set("updateDate", completion.getUpdateDate()),
+                        Updates.set("attemptCount", 0),
+                        Updates.unset("nextAttemptDateTime"),
+                        Updates.unset("leaseOwner"),
+                        Updates.unset("leaseExpiry")));
+    }
+
+    @Override
+    public boolean deleteClaimedSchedule(String id, String owner) {
+        Query query = new Query(Criteria.where("_id").is(id).and("leaseOwner").is(owner));
+        return mongoTemplate.remove(query, Schedule.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public Stream<Schedule> streamReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        Query query = reclaimableQuery(partitions, overdueBefore, now)
+                .with(Sort.by(Sort.Direction.ASC, "startDateTime"))
+                .cursorBatchSize(cursorBatchSize);
+        query.fields().exclude(PAYLOAD_FIELDS);
+
+        return mongoTemplate.stream(query, Schedule.class);
+    }
+
+    @Override
+    public long countReclaimableSchedules(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        return mongoTemplate.count(reclaimableQuery(partitions, overdueBefore, now), Schedule.class);
+    }
+
+    /**
+     * @return Query for pending, overdue schedules of the given partitions without a valid lease.
+     */
+    private static Query reclaimableQuery(Collection<Integer> partitions, Date overdueBefore, Date now) {
+        return new Query(Criteria.where("partition").in(partitions)
+                .and("executed").is(false)
+                .and("startDateTime").lte(overdueBefore)
+                .orOperator(
+                        Criteria.where("leaseExpiry").is(null),
+                        Criteria.where("leaseExpiry").lte(now)));
+    }
+
+    @Override
+    public int assignPartitions(ToIntFunction<String> partitioner, boolean all) {
+        Query query = (all ? new Query() : new Query(Criteria.where("partition").exists(false)))
+                .cursorBatchSize(cursorBatchSize);
+        query.fields().include("_id").include("partition");
+
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Schedule.class));
+        List<UpdateOneModel<Document>> updates = new ArrayList<>(cursorBatchSize);
+        int assigned = 0;
+
+        try (Stream<Schedule> schedules = mongoTemplate.stream(query, Schedule.class)) {
+            Iterator<Schedule> iterator = schedules.iterator();
+            while (iterator.hasNext()) {
+                Schedule schedule = iterator.next();
+                int partition = partitioner.applyAsInt(schedule.getId());
+                // A missing partition reads as 0, so partition 0 is written either way
+                if (partition != schedule.getPartition() || partition == 0) {
+                    updates.add(new UpdateOneModel<>(Filters.eq("_id", schedule.getId()),
+                            Updates.set("partition", partition)));
+                }
+
+                if (updates.size() == cursorBatchSize || (!iterator.hasNext() && !updates.isEmpty())) {
+                    assigned += collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+                    updates.clear();
+                }
+            }
+        }
+        return assigned;
+    }
+
+    @Override
+    public int migrateInfoEncoding(int limit) {
+        String legacyMarker = "info." + CompactScheduleInfo.LEGACY_MARKER;
+        Query query = new Query(Criteria.where(legacyMarker).exists(true)).limit(limit);
+        query.fields().include("info");
+
+        List<Schedule> schedules = mongoTemplate.find(query, Schedule.class);
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+
+        // Skip documents rewritten meanwhile, e.g. by an update through the API
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Schedule.class);
+        for (Schedule schedule : schedules) {
+            operations.updateOne(new Query(Criteria.where("_id").is(schedule.getId()).and(legacyMarker).exists(true)),
+                    new Update().set("info", schedule.getInfo()));
+        }
+        return operations.execute().getModifiedCount();
+    }
+
+    @Override
+    public List<Schedule> findPageAfter(ScheduleCursor after, int limit) {
+        return mongoTemplate.find(pageQuery(after, limit), Schedule.class);
+    }
+
+    /**
+     * @param after The last schedule of the previous page, or null for the first page.
+     * @param limit The maximum number of schedules on the page.
+     * @return Query for the page of schedules after the cursor, in listing order.
+     */
+    static Query pageQuery(ScheduleCursor after, int limit) {
+        Query query = new Query()
+                .with(LISTING_ORDER)
+                .limit(limit);
+
+        if (after != null) {
+            query.addCriteria(afterCursor(after));
+        }
+        return query;
+    }
+
+    @Override
+    public List<Schedule> findMatching(ScheduleQuery query, ScheduleCursor after, int limit) {
+        return mongoTemplate.find(matchingPageQuery(query, after, limit), Schedule.class);
+    }
+
+    @Override
+    public long countMatching(ScheduleQuery query) {
+        return mongoTemplate.count(matchingQuery(query, null), Schedule.class);
+    }
+
+    /**
+     * @param filter The filters and projection.
+     * @param after  The last schedule of the previous page, or null for the first page.
+     * @param limit  The maximum number of schedules on the page.
+     * @return Query for the page of matching schedules after the cursor, in listing order, with the projection.
+     */
+    static Query matchingPageQuery(ScheduleQuery filter, ScheduleCursor after, int limit) {
+        Query query = matchingQuery(filter, after)
+                .with(LISTING_ORDER)
+                .limit(limit);
+
+        if (filter.getFields() != null && !filter.getFields().isEmpty()) {
+            // startDateTime is needed for the cursor of the next page
+            query.fields().include(filter.getFields().toArray(String[]::new)).include("startDateTime");
+        }
+        return query;
+    }
+
+    /**
+     * Translates the filters into criteria backed by the indexes declared on Schedule. Category and priority
+     * match both the default and the compact encoding of the info object (see {@link CompactScheduleInfo}).
+     *
+     * @param filter The filters.
+     * @param after  The last schedule of the previous page, or null to match from the start.
+     * @return Query for the matching schedules, without order, limit or projection.
+     */
+    static Query matchingQuery(ScheduleQuery filter, ScheduleCursor after) {
+        List<Criteria> clauses = new ArrayList<>();
+
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria range = Criteria.where("startDateTime");
+            if (filter.getFrom() != null) {
+                range.gte(filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                range.lt(filter.getTo());
+            }
+            clauses.add(range);
+        }
+        if (filter.getCategory() != null) {
+            clauses.add(new Criteria().orOperator(
+                    Criteria.where("info.category").is(filter.getCategory().name()),
+                    Criteria.where("info." + CompactScheduleInfo.CATEGORY).is(filter.getCategory().ordinal())));
+        }
+        if (filter.getPriority() != null) {
+            clauses.add(new Criteria().orOperator(
+                    Criteria.where("info.priority").is(filter.getPriority().name()),
+                    Criteria.where("info." + CompactScheduleInfo.PRIORITY).is(filter.getPriority().ordinal())));
+        }
+        if (filter.getExecuted() != null) {
+            clauses.add(Criteria.where("executed").is(filter.getExecuted()));
+        }
+        if (StringUtils.hasText(filter.getNamePrefix())) {
+            // Anchored, case-sensitive and without metacharacters, so the name index bounds the scan
+            clauses.add(Criteria.where("name").regex("^" + REGEX_METACHARACTERS.matcher(filter.getNamePrefix())
+                    .replaceAll("\\\\$0")));
+        }
+        if (after != null) {
+            clauses.add(afterCursor(after));
+        }
+
+        return clauses.isEmpty() ? new Query() : new Query(new Criteria().andOperator(clauses));
+    }
+
+    /**
+     * @param after The last schedule of the previous page.
+     * @return Criteria for the schedules after it in listing order.
+     */
+    private static Criteria afterCursor(ScheduleCursor after) {
+        return after.getStartDateTime() != null
+                ? new Criteria().orOperator(
+                        Criteria.where("startDateTime").gt(after.getStartDateTime()),
+                        Criteria.where("startDateTime").is(after.getStartDateTime()).and("_id").gt(after.getId()))
+                : new Criteria().orOperator(
+                        Criteria.where("startDateTime").ne(null),
+                        Criteria.where("startDateTime").is(null).and("_id").gt(after.getId()));
+    }
+
+    @Override
+    public Stream<Schedule> streamAll() {
+        Query query = new Query()
+                .with(LISTING_ORDER)
+                .cursorBatchSize(cursorBatchSize);
+
+        return mongoTemplate.stream(query, Schedule.class);
+    }
+}
@@ -0,0 +1,16 @@
+package com.task.poc.service;
+
+import com.task.poc.models.schedule.DeadLetterDTO;
+import com.task.poc.models.schedule.ScheduleDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface DeadLetterService {
+
+    ResponseEntity<List<DeadLetterDTO>> getDeadLetters(Integer limit);
+
+    ResponseEntity<DeadLetterDTO> getDeadLetterById(String id);
+
+    ResponseEntity<ScheduleDTO> replayDeadLetter(String id);
+}
@@ -0,0 +1,155 @@
+package com.task.poc.service;
+
+import com.task.poc.models.database.DeadLetter;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.DeadLetterDTO;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.repository.DeadLetterStore;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.repository.ScheduleStore;
+import com.task.poc.util.ScheduleExecutionService;
+import com.task.poc.util.ScheduleMapper;
+import com.task.poc.util.SchedulePartitioner;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service implementation for inspecting and replaying dead letters,
+ * the schedules whose delivery still failed after the last retry.
+ */
+@Service
+@Log4j2
+public class DeadLetterServiceImpl implements DeadLetterService {
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private ScheduleStore store;
+
+    @Autowired
+    private ScheduleCache cache;
+
+    @Autowired
+    private ScheduleExecutionService executionService;
+
+    @Autowired
+    private ScheduleMapper mapper;
+
+    @Autowired
+    private SchedulePartitioner partitioner;
+
+    @Value("${scheduler.listing.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${scheduler.listing.max-page-size:1000}")
+    private int maxPageSize;
+
+    /**
+     * Retrieves the most recent dead letters.
+     *
+     * @param limit The maximum number of dead letters to return
+     * @return ResponseEntity containing the dead letters, newest first
+     */
+    @Override
+    public ResponseEntity<List<DeadLetterDTO>> getDeadLetters(Integer limit) {
+        log.debug("Entering getDeadLetters method. Limit: {}", limit);
+
+        try {
+            int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
+            List<DeadLetterDTO> deadLetters = deadLetterStore.findLatest(pageSize).stream()
+                    .map(mapper::toDto)
+                    .toList();
+
+            log.info("Successfully fetched dead letters. Total count: {}", deadLetters.size());
+            return ResponseEntity.ok(deadLetters);
+        } catch (Exception ex) {
+            log.error("Failed to fetch dead letters. Exception: ", ex);
+            return ResponseEntity.internalServerError().body(List.of());
+        }
+    }
+
+    /**
+     * Retrieves a dead letter by the ID of its schedule.
+     *
+     * @param id The ID of the dead-lettered schedule
+     * @return ResponseEntity containing the dead letter
+     */
+    @Override
+    public ResponseEntity<DeadLetterDTO> getDeadLetterById(String id) {
+        log.debug("Entering getDeadLetterById method. Schedule ID: {}", id);
+
+        try {
+            Optional<DeadLetter> deadLetterOptional = deadLetterStore.findById(id);
+
+            if (deadLetterOptional.isPresent()) {
+                return ResponseEntity.ok(mapper.toDto(deadLetterOptional.get()));
+            } else {
+                log.warn("Dead letter with ID {} not found.", id);
+                return ResponseEntity.notFound().build();
+            }
+        } catch (Exception ex) {
+            log.error("Failed to fetch dead letter by ID. Exception: ", ex);
+            return ResponseEntity.internalServerError().body(new DeadLetterDTO());
+        }
+    }
+
+    /**
+     * Moves a dead-lettered schedule back to the schedule collection, due immediately and with a fresh
+     * set of attempts. Recurring schedules resume their series from the current time.
+     *
+     * @param id The ID of the dead-lettered schedule
+     * @return ResponseEntity containing the restored schedule
+     */
+    @Override
+    public ResponseEntity<ScheduleDTO> replayDeadLetter(String id) {
+        log.debug("Entering replayDeadLetter method. Schedule ID: {}", id);
+
+        try {
+            Optional<DeadLetter> deadLetterOptional = deadLetterStore.findById(id);
+
+            if (deadLetterOptional.isEmpty()) {
+                log.warn("Dead letter with ID {} not found for replay.", id);
+                return ResponseEntity.notFound().build();
+            }
+
+            // Restore the schedule as pending and unclaimed, due now
+            Date now = new Date();
+            Schedule schedule = deadLetterOptional.get().getSchedule();
+            schedule.setStartDateTime(now);
+            schedule.setPartition(partitioner.partitionOf(id));
+            schedule.setUpdateDate(now);
+            schedule.setExecuted(false);
+            schedule.setAttemptCount(0);
+            schedule.setNextAttemptDateTime(null);
+            schedule.setLeaseOwner(null);
+            schedule.setLeaseExpiry(null);
+
+            // Insert rather than save, so a replay never overwrites a schedule that exists under the same ID
+            Schedule replayedSchedule = store.insert(schedule);
+            deadLetterStore.deleteById(id);
+
+            cache.put(replayedSchedule);
+            executionService.onScheduleSaved(replayedSchedule);
+
+            log.info("Successfully replayed dead letter with ID: {}", id);
+            return ResponseEntity.ok(mapper.toDto(replayedSchedule));
+        } catch (DuplicateKeyException ex) {
+            log.warn("Dead letter with ID {} was already replayed.", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ScheduleDTO());
+        } catch (Exception ex) {
+            log.error("Failed to replay dead letter. Exception: ", ex);
+            return ResponseEntity.internalServerError().body(new ScheduleDTO());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.task.poc.service;
+
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleImportResultDTO;
+import com.task.poc.models.schedule.ScheduleListDTO;
+import com.task.poc.models.schedule.ScheduleQuery;
+import com.task.poc.models.schedule.ScheduleQueryResultDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSchedulerService {
+
+    Mono<ResponseEntity<ScheduleDTO>> createSchedule(ScheduleRequestDTO request);
+
+    Flux<ScheduleImportResultDTO> importSchedules(Flux<ScheduleRequestDTO> records);
+
+    Mono<ResponseEntity<ScheduleListDTO>> getAllSchedules(Integer limit, String cursor);
+
+    Flux<ScheduleDTO> streamAllSchedules();
+
+    Mono<ResponseEntity<ScheduleQueryResultDTO>> querySchedules(ScheduleQuery query, Integer limit, String cursor);
+
+    Mono<ResponseEntity<ScheduleDTO>> getScheduleById(String id);
+
+    Mono<ResponseEntity<ScheduleDTO>> updateSchedule(String id, ScheduleRequestDTO request);
+
+    Mono<ResponseEntity<String>> deleteSchedule(String id);
+}
@@ -0,0 +1,416 @@
+package com.task.poc.service;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleImportResultDTO;
+import com.task.poc.models.schedule.ScheduleListDTO;
+import com.task.poc.models.schedule.ScheduleQuery;
+import com.task.poc.models.schedule.ScheduleQueryResultDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import com.task.poc.repository.ReactiveSchedulerRepository;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.repository.ScheduleStore;
+import com.task.poc.util.ScheduleExecutionService;
+import com.task.poc.util.ScheduleFactory;
+import com.task.poc.util.ScheduleMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking implementation of the schedule API for the reactive profile.
+ * Same contract as {@link SchedulerServiceImpl}, but every database call goes through the reactive driver,
+ * so no thread waits for Mongo while a request is in flight. Schedules are registered with the same
+ * dispatcher, which only touches in-memory state on these calls. Requires the shared Mongo store.
+ */
+@Service
+@Profile("reactive")
+@Log4j2
+public class ReactiveSchedulerServiceImpl implements ReactiveSchedulerService {
+
+    private final ScheduleMapper mapper;
+    private final ScheduleFactory scheduleFactory;
+    private final ReactiveSchedulerRepository repository;
+    private final ScheduleStore store;
+    private final ScheduleCache cache;
+    private final ScheduleExecutionService executionService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    // Number of records written per insertMany during bulk imports
+    private final int importBatchSize;
+
+    public ReactiveSchedulerServiceImpl(ScheduleMapper mapper, ScheduleFactory scheduleFactory,
+                                        ReactiveSchedulerRepository repository, ScheduleStore store,
+                                        ScheduleCache cache, ScheduleExecutionService executionService,
+                                        @Value("${scheduler.listing.default-page-size:100}") int defaultPageSize,
+                                        @Value("${scheduler.listing.max-page-size:1000}") int maxPageSize,
+                                        @Value("${scheduler.import.batch-size:1000}") int importBatchSize) {
+        this.mapper = mapper;
+        this.scheduleFactory = scheduleFactory;
+        this.repository = repository;
+        this.store = store;
+        this.cache = cache;
+        this.executionService = executionService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.importBatchSize = importBatchSize;
+    }
+
+    @PostConstruct
+    public void checkStore() {
+        if (store.isLocal()) {
+            throw new IllegalStateException("The reactive profile requires scheduler.store.type=mongo");
+        }
+    }
+
+    /**
+     * Creates a new schedule based on the given request.
+     *
+     * @param request ScheduleRequestDTO containing schedule data
+     * @return Mono of the ResponseEntity with the created ScheduleDTO
+     */
+    @Override
+    public Mono<ResponseEntity<ScheduleDTO>> createSchedule(ScheduleRequestDTO request) {
+        log.debug("Entering createSchedule method with request: {}", request);
+
+        return Mono.fromCallable(() -> scheduleFactory.newSchedule(request))
+                .flatMap(repository::save)
+                .map(newSchedule -> {
+                    cache.put(newSchedule);
+
+                    // Insert the schedule into the timing wheel if it falls within the loaded window
+                    executionService.onScheduleSaved(newSchedule);
+
+                    log.info("Successfully created schedule with ID: {}", newSchedule.getId());
+                    return ResponseEntity.ok(mapper.toDto(newSchedule));
+                })
+                .onErrorResume(ex -> {
+                    log.error("Failed to create schedule. Exception: ", ex);
+                    return Mono.just(ResponseEntity.internalServerError().body(new ScheduleDTO()));
+                });
+    }
+
+    /**
+     * Imports schedules in bulk from newline-delimited JSON or a JSON array.
+     * Records are decoded as they arrive and inserted with one insertMany per scheduler.import.batch-size
+     * records; the results of a batch are emitted once it is stored. Malformed JSON ends the import with a
+     * REJECTED result, the records before it are still imported.
+     *
+     * @param records The decoded records of the request body
+     * @return Flux of one ScheduleImportResultDTO per record
+     */
+    @Override
+    public Flux<ScheduleImportResultDTO> importSchedules(Flux<ScheduleRequestDTO> records) {
+        log.debug("Entering importSchedules method.");
+
+        AtomicLong index = new AtomicLong();
+        return records
+                .map(request -> new ImportRecord(index.getAndIncrement(), request, null))
+                // Nothing after this point can be read; turn the error into a result, so buffered records are kept
+                .onErrorResume(DecodingException.class, ex -> Mono.just(new ImportRecord(index.get(), null,
+                        "Malformed JSON: " + ex.getMostSpecificCause().getMessage())))
+                .buffer(importBatchSize)
+                .concatMap(this::importBatch)
+                .doOnComplete(() -> log.info("Finished bulk import of {} records.", index.get()));
+    }
+
+    /**
+     * Validates a batch of import records and inserts the valid ones with a single insertMany.
+     * If the insert fails, the batch's results are switched from CREATED to FAILED.
+     *
+     * @param records The records of the batch
+     * @return Flux of the batch's results, in record order
+     */
+    private Flux<ScheduleImportResultDTO> importBatch(List<ImportRecord> records) {
+        List<Schedule> batch = new ArrayList<>(records.size());
+        List<ScheduleImportResultDTO> results = new ArrayList<>(records.size());
+
+        for (ImportRecord record : records) {
+            String validationError = record.error() != null
+                    ? record.error()
+                    : scheduleFactory.validateImportRecord(record.request());
+            if (validationError != null) {
+                results.add(new ScheduleImportResultDTO(record.index(), null, ScheduleImportResultDTO.Status.REJECTED,
+                        validationError));
+            } else {
+                Schedule schedule = scheduleFactory.newSchedule(record.request());
+                batch.add(schedule);
+                results.add(new ScheduleImportResultDTO(record.index(), schedule.getId(),
+                        ScheduleImportResultDTO.Status.CREATED, null));
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return Flux.fromIterable(results);
+        }
+
+        return repository.insert(batch)
+                .doOnNext(executionService::onScheduleSaved)
+                .then(Mono.just(results))
+                .onErrorResume(ex -> {
+                    log.error("Failed to insert a batch of {} imported schedules. Exception: ", batch.size(), ex);
+
+                    results.stream()
+                            .filter(result -> result.getStatus() == ScheduleImportResultDTO.Status.CREATED)
+                            .forEach(result -> {
+                                result.setStatus(ScheduleImportResultDTO.Status.FAILED);
+                                result.setError("Failed to store schedule.");
+                            });
+                    return Mono.just(results);
+                })
+                .flatMapIterable(batchResults -> batchResults);
+    }
+
+    /**
+     * Retrieves one page of schedules, ordered by start time and ID.
+     *
+     * @param limit  The maximum number of schedules on the page, capped at scheduler.listing.max-page-size
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @return Mono of the ResponseEntity containing the page of schedules and the cursor of the next page
+     */
+    @Override
+    public Mono<ResponseEntity<ScheduleListDTO>> getAllSchedules(Integer limit, String cursor) {
+        log.debug("Entering getAllSchedules method. Limit: {}, Cursor: {}", limit, cursor);
+
+        ScheduleCursor after;
+        try {
+            after = StringUtils.hasText(cursor) ? ScheduleCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException ex) {
+            log.warn("Invalid schedule cursor: {}", cursor);
+            return Mono.just(ResponseEntity.badRequest().body(new ScheduleListDTO()));
+        }
+
+        int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        return repository.findPageAfter(after, pageSize)
+                .collectList()
+                .map(schedules -> {
+                    ScheduleListDTO scheduleListDTO = new ScheduleListDTO();
+                    scheduleListDTO.setScheduleDTOList(schedules.stream().map(mapper::toDto).toList());
+                    if (schedules.size() == pageSize) {
+                        Schedule last = schedules.get(schedules.size() - 1);
+                        scheduleListDTO.setNextCursor(new ScheduleCursor(last.getStartDateTime(), last.getId()).encode());
+                    }
+
+                    log.info("Successfully fetched a page of schedules. Page size: {}", schedules.size());
+                    return ResponseEntity.ok(scheduleListDTO);
+                })
+                .onErrorResume(ex -> {
+                    log.error("Failed to fetch schedules. Exception: ", ex);
+                    return Mono.just(ResponseEntity.internalServerError().body(new ScheduleListDTO()));
+                });
+    }
+
+    /**
+     * Streams all schedules, ordered by start time and ID, as fast as the client reads them.
+     *
+     * @return Flux of every schedule
+     */
+    @Override
+    public Flux<ScheduleDTO> streamAllSchedules() {
+        log.debug("Entering streamAllSchedules method.");
+
+        AtomicLong count = new AtomicLong();
+        return repository.streamAll()
+                .map(mapper::toDto)
+                .doOnNext(schedule -> count.incrementAndGet())
+                .doOnComplete(() -> log.info("Successfully streamed all schedules. Total count: {}", count.get()));
+    }
+
+    /**
+     * Retrieves one page of the schedules matching a query, ordered by start time and ID.
+     * The page and, for the first page only, the total count are queried concurrently.
+     *
+     * @param query  The filters and the fields to return
+     * @param limit  The maximum number of schedules on the page, capped at scheduler.listing.max-page-size
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @return Mono of the ResponseEntity containing the page of matching schedules, the total and the next cursor
+     */
+    @Override
+    public Mono<ResponseEntity<ScheduleQueryResultDTO>> querySchedules(ScheduleQuery query, Integer limit, String cursor) {
+        log.debug("Entering querySchedules method. Limit: {}, Cursor: {}", limit, cursor);
+
+        ScheduleCursor after;
+        try {
+            after = StringUtils.hasText(cursor) ? ScheduleCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException ex) {
+            log.warn("Invalid schedule cursor: {}", cursor);
+            return Mono.just(ResponseEntity.badRequest().body(new ScheduleQueryResultDTO()));
+        }
+
+        Set<String> unknownFields = query.unknownFields();
+        if (!unknownFields.isEmpty()) {
+            log.warn("Invalid fields requested: {}", unknownFields);
+            return Mono.just(ResponseEntity.badRequest().body(new ScheduleQueryResultDTO()));
+        }
+
+        int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+        Mono<Optional<Long>> totalCount = after == null
+                ? repository.countMatching(query).map(Optional::of)
+                : Mono.just(Optional.empty());
+
+        return Mono.zip(repository.findMatching(query, after, pageSize).collectList(), totalCount)
+                .map(page -> {
+                    List<Schedule> schedules = page.getT1();
+                    ScheduleQueryResultDTO result = new ScheduleQueryResultDTO();
+                    result.setScheduleDTOList(schedules.stream()
+                            .map(schedule -> mapper.toDto(schedule, query.getFields()))
+                            .toList());
+                    result.setTotalCount(page.getT2().orElse(null));
+                    if (schedules.size() == pageSize) {
+                        Schedule last = schedules.get(schedules.size() - 1);
+                        result.setNextCursor(new ScheduleCursor(last.getStartDateTime(), last.getId()).encode());
+                    }
+
+                    log.info("Successfully queried schedules. Page size: {}", schedules.size());
+                    return ResponseEntity.ok(result);
+                })
+                .onErrorResume(ex -> {
+                    log.error("Failed to query schedules. Exception: ", ex);
+                    return Mono.just(ResponseEntity.internalServerError().body(new ScheduleQueryResultDTO()));
+                });
+    }
+
+    /**
+     * Retrieves a schedule by its ID.
+     *
+     * @param id The ID of the schedule to retrieve
+     * @return Mono of the ResponseEntity containing the ScheduleDTO for the given ID
+     */
+    @Override
+    public Mono<ResponseEntity<ScheduleDTO>> getScheduleById(String id) {
+        log.debug("Entering getScheduleById method. Schedule ID: {}", id);
+
+        return findSchedule(id)
+                .map(schedule -> {
+                    log.info("Successfully fetched schedule by ID: {}", id);
+                    return ResponseEntity.ok(mapper.toDto(schedule));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("Schedule with ID {} not found.", id);
+                    return ResponseEntity.notFound().<ScheduleDTO>build();
+                }))
+                .onErrorResume(ex -> {
+                    log.error("Failed to fetch schedule by ID. Exception: ", ex);
+                    return Mono.just(ResponseEntity.internalServerError().body(new ScheduleDTO()));
+                });
+    }
+
+    /**
+     * Updates an existing schedule. Like the servlet stack, only the request fields are written, and neither a leased
+     * nor an archived schedule can be updated.
+     *
+     * @param id      The ID of the schedule to update
+     * @param request ScheduleRequestDTO containing the updated schedule data
+     * @return Mono of the ResponseEntity with the updated ScheduleDTO, 409 Conflict while the schedule is leased,
+     * or 409 Conflict with the archived schedule once it has been archived
+     */
+    @Override
+    public Mono<ResponseEntity<ScheduleDTO>> updateSchedule(String id, ScheduleRequestDTO request) {
+        log.debug("Entering updateSchedule method. Schedule ID: {}, Request: {}", id, request);
+
+        Schedule changes = new Schedule();
+        changes.setId(id);
+        mapper.updateSchedule(request, changes);
+        Date now = new Date();
+        changes.setUpdateDate(now);
+
+        // Only the changed fields are written, and only while no node holds the lease
+        return repository.updateRequestFields(changes, now)
+                .map(updatedSchedule -> {
+                    cache.put(updatedSchedule);
+
+                    // Move the wheel entry to the new start time, or drop it if it left the loaded window
+                    executionService.onScheduleSaved(updatedSchedule);
+
+                    log.info("Successfully updated schedule with ID: {}", id);
+                    return ResponseEntity.ok(mapper.toDto(updatedSchedule));
+                })
+                .switchIfEmpty(repository.existsById(id).flatMap(exists -> {
+                    if (exists) {
+                        log.warn("Schedule with ID {} is leased for execution and cannot be updated.", id);
+                        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(new ScheduleDTO()));
+                    }
+                    return repository.findArchivedById(id)
+                            .map(archived -> {
+                                log.warn("Schedule with ID {} is archived and cannot be updated.", id);
+                                return ResponseEntity.status(HttpStatus.CONFLICT).body(mapper.toDto(archived));
+                            })
+                            .switchIfEmpty(Mono.fromSupplier(() -> {
+                                log.warn("Schedule with ID {} not found for update.", id);
+                                return ResponseEntity.notFound().<ScheduleDTO>build();
+                            }));
+                }))
+                .onErrorResume(ex -> {
+                    log.error("Failed to update schedule. Exception: ", ex);
+                    return Mono.just(ResponseEntity.internalServerError().body(new ScheduleDTO()));
+                });
+    }
+
+    /**
+     * Deletes a schedule by its ID, from schedule-collection or from the history if it has been archived.
+     *
+     * @param id The ID of the schedule to delete
+     * @return Mono of the ResponseEntity without content
+     */
+    @Override
+    public Mono<ResponseEntity<String>> deleteSchedule(String id) {
+        log.debug("Entering deleteSchedule method. Schedule ID: {}", id);
+
+        return findSchedule(id)
+                .flatMap(schedule -> repository.deleteById(id)
+                        .then(repository.deleteArchivedById(id))
+                        .then(Mono.fromSupplier(() -> {
+                            cache.invalidate(id);
+
+                            // Cancel the pending wheel entry, if any
+                            executionService.onScheduleDeleted(id);
+
+                            log.info("Successfully deleted schedule with ID: {}", id);
+                            return ResponseEntity.noContent().<String>build();
+                        })))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("Schedule with ID {} not found for deletion.", id);
+                    return ResponseEntity.notFound().<String>build();
+                }))
+                .onErrorResume(ex -> {
+                    log.error("Failed to delete schedule. Exception: ", ex);
+                    return Mono.just(ResponseEntity.internalServerError().body("Failed to delete schedule."));
+                });
+    }
+
+    /**
+     * Looks a schedule up in the cache, then in schedule-collection and then in the history, caching what is found.
+     *
+     * @param id The ID of the schedule
+     * @return Mono of the schedule, empty if it does not exist
+     */
+    private Mono<Schedule> findSchedule(String id) {
+        return Mono.justOrEmpty(cache.getIfPresent(id))
+                .switchIfEmpty(repository.findById(id)
+                        .switchIfEmpty(repository.findArchivedById(id))
+                        .doOnNext(cache::put));
+    }
+
+    /**
+     * A decoded import record with its position in the request, or the decoding error that ended the request.
+     */
+    private record ImportRecord(long index, ScheduleRequestDTO request, String error) {
+    }
+}
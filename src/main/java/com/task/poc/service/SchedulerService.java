@@ -2,14 +2,25 @@ package com.task.poc.service;
 
 import com.task.poc.models.schedule.ScheduleDTO;
 import com.task.poc.models.schedule.ScheduleListDTO;
+import com.task.poc.models.schedule.ScheduleQuery;
+import com.task.poc.models.schedule.ScheduleQueryResultDTO;
 import com.task.poc.models.schedule.ScheduleRequestDTO;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 public interface SchedulerService {
 
     ResponseEntity<ScheduleDTO> createSchedule(ScheduleRequestDTO request);
 
-    ResponseEntity<ScheduleListDTO> getAllSchedules();
+    ResponseEntity<StreamingResponseBody> importSchedules(InputStream body);
+
+    ResponseEntity<ScheduleListDTO> getAllSchedules(Integer limit, String cursor);
+
+    ResponseEntity<StreamingResponseBody> streamAllSchedules();
+
+    ResponseEntity<ScheduleQueryResultDTO> querySchedules(ScheduleQuery query, Integer limit, String cursor);
 
     ResponseEntity<ScheduleDTO> getScheduleById(String id);
 
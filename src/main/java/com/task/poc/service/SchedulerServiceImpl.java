@@ -1,19 +1,38 @@
 package com.task.poc.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleCursor;
 import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleImportResultDTO;
 import com.task.poc.models.schedule.ScheduleListDTO;
+import com.task.poc.models.schedule.ScheduleQuery;
+import com.task.poc.models.schedule.ScheduleQueryResultDTO;
 import com.task.poc.models.schedule.ScheduleRequestDTO;
-import com.task.poc.repository.SchedulerRepository;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.repository.ScheduleStore;
+import com.task.poc.util.ScheduleExecutionService;
+import com.task.poc.util.ScheduleFactory;
+import com.task.poc.util.ScheduleMapper;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for scheduling tasks.
@@ -24,10 +43,36 @@ import java.util.stream.StreamSupport;
 public class SchedulerServiceImpl implements SchedulerService {
 
     @Autowired
-    private ModelMapper mapper;
+    private ScheduleMapper mapper;
 
     @Autowired
-    private SchedulerRepository repository;
+    private ScheduleStore store;
+
+    @Autowired
+    private ScheduleCache cache;
+
+    @Autowired
+    private ScheduleExecutionService executionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ScheduleFactory scheduleFactory;
+
+    @Value("${scheduler.listing.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${scheduler.listing.max-page-size:1000}")
+    private int maxPageSize;
+
+    // Number of streamed schedules written before the response is flushed
+    @Value("${scheduler.listing.stream-flush-size:500}")
+    private int streamFlushSize;
+
+    // Number of records written per insertMany during bulk imports
+    @Value("${scheduler.import.batch-size:1000}")
+    private int importBatchSize;
 
 
     /**
@@ -42,22 +87,17 @@ public class SchedulerServiceImpl implements SchedulerService {
 
         try {
             // Creating a new schedule entity from the request DTO
-            Schedule schedule = mapper.map(request, Schedule.class);
+            Schedule schedule = scheduleFactory.newSchedule(request);
 
-            // Generate a unique ID for the schedule
-            schedule.setId(UUID.randomUUID().toString());
-            // set trigger date time
-            schedule.setStartDateTime(request.getStartDateTime());
-            // Set current date as creation date
-            schedule.setCreateDate(new Date());
-            // Set the current date as the last update date
-            schedule.setUpdateDate(new Date());
+            // Save the new schedule in the store
+            Schedule newSchedule = store.save(schedule);
+            cache.put(newSchedule);
 
-            // Save the new schedule in the repository
-            Schedule newSchedule = repository.save(schedule);
+            // Insert the schedule into the timing wheel if it falls within the loaded window
+            executionService.onScheduleSaved(newSchedule);
 
             // Map the saved entity to a DTO for returning
-            ScheduleDTO scheduleDTO = mapper.map(newSchedule, ScheduleDTO.class);
+            ScheduleDTO scheduleDTO = mapper.toDto(newSchedule);
 
             // Log info after successful schedule creation
             log.info("Successfully created schedule with ID: {}", scheduleDTO.getId());
@@ -74,41 +114,209 @@ public class SchedulerServiceImpl implements SchedulerService {
     }
 
     /**
-     * Retrieves all schedules.
+     * Imports schedules in bulk from newline-delimited JSON or a JSON array.
+     * Records are parsed, validated and mapped one at a time and inserted with one insertMany per
+     * scheduler.import.batch-size records, so neither the payload nor the results are held in memory.
+     *
+     * @param body The request body, read incrementally
+     * @return ResponseEntity streaming one ScheduleImportResultDTO line per record
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> importSchedules(InputStream body) {
+        log.debug("Entering importSchedules method.");
+
+        StreamingResponseBody responseBody = outputStream -> {
+            try (MappingIterator<ScheduleRequestDTO> records = objectMapper.readerFor(ScheduleRequestDTO.class).readValues(body);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+                List<Schedule> batch = new ArrayList<>(importBatchSize);
+                List<ScheduleImportResultDTO> results = new ArrayList<>(importBatchSize);
+                long index = 0;
+
+                while (true) {
+                    ScheduleRequestDTO request;
+                    try {
+                        if (!records.hasNextValue()) {
+                            break;
+                        }
+                        request = records.nextValue();
+                    } catch (JsonParseException ex) {
+                        // Malformed JSON, nothing after this point can be read
+                        results.add(new ScheduleImportResultDTO(index, null, ScheduleImportResultDTO.Status.REJECTED,
+                                "Malformed JSON: " + ex.getOriginalMessage()));
+                        break;
+                    } catch (JsonMappingException ex) {
+                        // The record does not match the schedule format, skip to the next one
+                        results.add(new ScheduleImportResultDTO(index++, null, ScheduleImportResultDTO.Status.REJECTED,
+                                ex.getOriginalMessage()));
+                        continue;
+                    }
+
+                    String validationError = scheduleFactory.validateImportRecord(request);
+                    if (validationError != null) {
+                        results.add(new ScheduleImportResultDTO(index++, null, ScheduleImportResultDTO.Status.REJECTED,
+                                validationError));
+                    } else {
+                        Schedule schedule = scheduleFactory.newSchedule(request);
+                        batch.add(schedule);
+                        results.add(new ScheduleImportResultDTO(index++, schedule.getId(), ScheduleImportResultDTO.Status.CREATED, null));
+                    }
+
+                    if (results.size() >= importBatchSize) {
+                        insertImportBatch(batch, results);
+                        writeImportResults(generator, results);
+                    }
+                }
+
+                insertImportBatch(batch, results);
+                writeImportResults(generator, results);
+
+                log.info("Finished bulk import of {} records.", index);
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    /**
+     * Retrieves one page of schedules, ordered by start time and ID.
+     * Pages are addressed by keyset cursor, so every page costs the same regardless of its position.
      *
-     * @return ResponseEntity containing a list of all schedules
+     * @param limit  The maximum number of schedules on the page, capped at scheduler.listing.max-page-size
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @return ResponseEntity containing the page of schedules and the cursor of the next page
      */
     @Override
-    public ResponseEntity<ScheduleListDTO> getAllSchedules() {
-        log.debug("Entering getAllSchedules method.");
+    public ResponseEntity<ScheduleListDTO> getAllSchedules(Integer limit, String cursor) {
+        log.debug("Entering getAllSchedules method. Limit: {}, Cursor: {}", limit, cursor);
 
+        ScheduleCursor after;
         try {
-            // Fetch all schedules from the repository
-            Iterable<Schedule> schedules = repository.findAll();
+            after = StringUtils.hasText(cursor) ? ScheduleCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException ex) {
+            log.warn("Invalid schedule cursor: {}", cursor);
+            return ResponseEntity.badRequest().body(new ScheduleListDTO());
+        }
+
+        try {
+            int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
+            // Fetch one page of schedules from the store
+            List<Schedule> schedules = store.findPageAfter(after, pageSize);
 
             // Convert the schedules to ScheduleDTO list using stream and collect
-            List<ScheduleDTO> scheduleDTOList = StreamSupport.stream(schedules.spliterator(), false)
-                    .map(schedule -> mapper.map(schedule, ScheduleDTO.class))
+            List<ScheduleDTO> scheduleDTOList = schedules.stream()
+                    .map(mapper::toDto)
                     .collect(Collectors.toList());
 
-            // Create ScheduleListDTO and set the list of schedules
+            // Create ScheduleListDTO and set the list of schedules plus the position of the next page
             ScheduleListDTO scheduleListDTO = new ScheduleListDTO();
             scheduleListDTO.setScheduleDTOList(scheduleDTOList);
+            if (schedules.size() == pageSize) {
+                Schedule last = schedules.get(schedules.size() - 1);
+                scheduleListDTO.setNextCursor(new ScheduleCursor(last.getStartDateTime(), last.getId()).encode());
+            }
 
             // Log info after fetching schedules successfully
-            log.info("Successfully fetched all schedules. Total count: {}", scheduleDTOList.size());
+            log.info("Successfully fetched a page of schedules. Page size: {}", scheduleDTOList.size());
 
             // Return a successful response with the list of schedules
             return ResponseEntity.ok(scheduleListDTO);
         } catch (Exception ex) {
-            // Log error if fetching all schedules fails
-            log.error("Failed to fetch all schedules. Exception: ", ex);
+            // Log error if fetching the schedules fails
+            log.error("Failed to fetch schedules. Exception: ", ex);
 
             // Return internal server error response
             return ResponseEntity.internalServerError().body(new ScheduleListDTO());
         }
     }
 
+    /**
+     * Streams all schedules as newline-delimited JSON, ordered by start time and ID.
+     * Each document is written to the response as it comes off the database cursor.
+     *
+     * @return ResponseEntity streaming one ScheduleDTO line per schedule
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllSchedules() {
+        log.debug("Entering streamAllSchedules method.");
+
+        StreamingResponseBody responseBody = outputStream -> {
+            try (Stream<Schedule> schedules = store.streamAll();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+                long count = 0;
+                Iterator<Schedule> iterator = schedules.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(mapper.toDto(iterator.next()));
+                    generator.writeRaw('\n');
+
+                    // Push each cursor batch to the client instead of buffering the response
+                    if (++count % streamFlushSize == 0) {
+                        generator.flush();
+                    }
+                }
+
+                log.info("Successfully streamed all schedules. Total count: {}", count);
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+
+    /**
+     * Retrieves one page of the schedules matching a query, ordered by start time and ID.
+     * Filtering and projection run in the store on indexed fields; the total is only counted for the first page.
+     *
+     * @param query  The filters and the fields to return
+     * @param limit  The maximum number of schedules on the page, capped at scheduler.listing.max-page-size
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @return ResponseEntity containing the page of matching schedules, the total and the cursor of the next page
+     */
+    @Override
+    public ResponseEntity<ScheduleQueryResultDTO> querySchedules(ScheduleQuery query, Integer limit, String cursor) {
+        log.debug("Entering querySchedules method. Limit: {}, Cursor: {}", limit, cursor);
+
+        ScheduleCursor after;
+        try {
+            after = StringUtils.hasText(cursor) ? ScheduleCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException ex) {
+            log.warn("Invalid schedule cursor: {}", cursor);
+            return ResponseEntity.badRequest().body(new ScheduleQueryResultDTO());
+        }
+
+        Set<String> unknownFields = query.unknownFields();
+        if (!unknownFields.isEmpty()) {
+            log.warn("Invalid fields requested: {}", unknownFields);
+            return ResponseEntity.badRequest().body(new ScheduleQueryResultDTO());
+        }
+
+        try {
+            int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
+            // Fetch one page of matching schedules from the store
+            List<Schedule> schedules = store.findMatching(query, after, pageSize);
+
+            ScheduleQueryResultDTO result = new ScheduleQueryResultDTO();
+            result.setScheduleDTOList(schedules.stream()
+                    .map(schedule -> mapper.toDto(schedule, query.getFields()))
+                    .collect(Collectors.toList()));
+            if (after == null) {
+                result.setTotalCount(store.countMatching(query));
+            }
+            if (schedules.size() == pageSize) {
+                Schedule last = schedules.get(schedules.size() - 1);
+                result.setNextCursor(new ScheduleCursor(last.getStartDateTime(), last.getId()).encode());
+            }
+
+            log.info("Successfully queried schedules. Page size: {}", schedules.size());
+            return ResponseEntity.ok(result);
+        } catch (Exception ex) {
+            log.error("Failed to query schedules. Exception: ", ex);
+            return ResponseEntity.internalServerError().body(new ScheduleQueryResultDTO());
+        }
+    }
 
     /**
      * Retrieves a schedule by its ID.
@@ -121,13 +329,13 @@ public class SchedulerServiceImpl implements SchedulerService {
         log.debug("Entering getScheduleById method. Schedule ID: {}", id);
 
         try {
-            // Fetch the schedule by ID from the repository
-            Optional<Schedule> scheduleOptional = repository.findById(id);
+            // Fetch the schedule by ID through the read-through cache
+            Optional<Schedule> scheduleOptional = cache.findById(id);
 
             // Check if schedule exists
             if (scheduleOptional.isPresent()) {
                 // Map the found entity to a DTO
-                ScheduleDTO scheduleDTO = mapper.map(scheduleOptional.get(), ScheduleDTO.class);
+                ScheduleDTO scheduleDTO = mapper.toDto(scheduleOptional.get());
                 log.info("Successfully fetched schedule by ID: {}", id);
                 return ResponseEntity.ok(scheduleDTO);
             } else {
@@ -146,38 +354,59 @@ public class SchedulerServiceImpl implements SchedulerService {
 
     /**
      * Updates an existing schedule.
+     * Only the fields the request carries are written, with a single conditional update, so execution state and
+     * leases written by the dispatcher meanwhile are never overwritten. A schedule that is being executed or
+     * waiting for a retry cannot be updated until its lease is released. Archived schedules are read-only.
      *
      * @param id      The ID of the schedule to update
      * @param request ScheduleRequestDTO containing the updated schedule data
-     * @return ResponseEntity with the updated ScheduleDTO
+     * @return ResponseEntity with the updated ScheduleDTO, 409 Conflict while the schedule is leased,
+     * or 409 Conflict with the archived schedule once it has been archived
      */
     @Override
     public ResponseEntity<ScheduleDTO> updateSchedule(String id, ScheduleRequestDTO request) {
         log.debug("Entering updateSchedule method. Schedule ID: {}, Request: {}", id, request);
 
         try {
-            // Fetch the schedule to update by ID
-            Optional<Schedule> scheduleOptional = repository.findById(id);
+            // Map the request data into a schedule holding only the changed fields
+            Schedule changes = new Schedule();
+            changes.setId(id);
+            mapper.updateSchedule(request, changes);
+            Date now = new Date();
+            changes.setUpdateDate(now); // Update the last modified date
 
-            if (scheduleOptional.isPresent()) {
-                // Map the existing schedule and update the fields
-                Schedule schedule = scheduleOptional.get();
-                mapper.map(request, schedule);  // Map the request data into the schedule object
-                schedule.setUpdateDate(new Date()); // Update the last modified date
+            // Write the changed fields, unless a node holds the lease
+            Schedule updatedSchedule = store.updateRequestFields(changes, now);
+
+            if (updatedSchedule != null) {
+                cache.put(updatedSchedule);
 
-                // Save the updated schedule
-                Schedule updatedSchedule = repository.save(schedule);
+                // Move the wheel entry to the new start time, or drop it if it left the loaded window
+                executionService.onScheduleSaved(updatedSchedule);
 
                 // Map the updated schedule to a DTO for returning
-                ScheduleDTO scheduleDTO = mapper.map(updatedSchedule, ScheduleDTO.class);
+                ScheduleDTO scheduleDTO = mapper.toDto(updatedSchedule);
 
                 log.info("Successfully updated schedule with ID: {}", id);
                 return ResponseEntity.ok(scheduleDTO);
-            } else {
-                // Log warning if schedule not found
-                log.warn("Schedule with ID {} not found for update.", id);
-                return ResponseEntity.notFound().build();
             }
+
+            if (store.findById(id).isPresent()) {
+                // Log warning if the schedule is being executed
+                log.warn("Schedule with ID {} is leased for execution and cannot be updated.", id);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(new ScheduleDTO());
+            }
+
+            Optional<Schedule> archived = store.findArchivedById(id);
+            if (archived.isPresent()) {
+                // Log warning if the schedule has been archived after its execution
+                log.warn("Schedule with ID {} is archived and cannot be updated.", id);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(mapper.toDto(archived.get()));
+            }
+
+            // Log warning if schedule not found
+            log.warn("Schedule with ID {} not found for update.", id);
+            return ResponseEntity.notFound().build();
         } catch (Exception ex) {
             // Log error if updating the schedule fails
             log.error("Failed to update schedule. Exception: ", ex);
@@ -187,6 +416,49 @@ public class SchedulerServiceImpl implements SchedulerService {
         }
     }
 
+    /**
+     * Inserts the pending import batch with a single insertMany and registers the new schedules with the dispatcher.
+     * If the insert fails, the batch's results are switched from CREATED to FAILED.
+     *
+     * @param batch   The schedules waiting to be inserted, cleared afterwards
+     * @param results The results of the records in the batch
+     */
+    private void insertImportBatch(List<Schedule> batch, List<ScheduleImportResultDTO> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            store.insertAll(batch).forEach(executionService::onScheduleSaved);
+        } catch (Exception ex) {
+            log.error("Failed to insert a batch of {} imported schedules. Exception: ", batch.size(), ex);
+
+            results.stream()
+                    .filter(result -> result.getStatus() == ScheduleImportResultDTO.Status.CREATED)
+                    .forEach(result -> {
+                        result.setStatus(ScheduleImportResultDTO.Status.FAILED);
+                        result.setError("Failed to store schedule.");
+                    });
+        }
+        batch.clear();
+    }
+
+    /**
+     * Writes the collected results as NDJSON lines and flushes them to the client.
+     *
+     * @param generator The response generator
+     * @param results   The results to write, cleared afterwards
+     * @throws IOException if the client connection fails
+     */
+    private void writeImportResults(JsonGenerator generator, List<ScheduleImportResultDTO> results) throws IOException {
+        for (ScheduleImportResultDTO result : results) {
+            generator.writeObject(result);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        results.clear();
+    }
+
     /**
      * Deletes a schedule by its ID.
      *
@@ -199,11 +471,16 @@ public class SchedulerServiceImpl implements SchedulerService {
 
         try {
             // Check if the schedule exists
-            Optional<Schedule> scheduleOptional = repository.findById(id);
+            Optional<Schedule> scheduleOptional = cache.findById(id);
 
             if (scheduleOptional.isPresent()) {
-                // Delete the schedule from the repository
-                repository.delete(scheduleOptional.get());
+                // Delete the schedule from the store, or from the history if it has been archived
+                store.deleteById(id);
+                store.deleteArchivedById(id);
+                cache.invalidate(id);
+
+                // Cancel the pending wheel entry, if any
+                executionService.onScheduleDeleted(id);
 
                 // Log info after successful deletion
                 log.info("Successfully deleted schedule with ID: {}", id);
@@ -0,0 +1,32 @@
+package com.task.poc.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Outcome of a batched callback delivery, with the status reported for each schedule ID.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BatchDeliveryResult {
+    private int statusCode;
+    private long latencyNanos;
+    private Map<String, Integer> itemStatuses;
+
+    /**
+     * @param scheduleId The ID of a schedule in the batch.
+     * @return The schedule's own result: the request's status if the request failed as a whole, otherwise the
+     * item's status. Null if the response has no result for the schedule.
+     */
+    public DeliveryResult resultFor(String scheduleId) {
+        if (statusCode < 200 || statusCode >= 300) {
+            return new DeliveryResult(statusCode, latencyNanos);
+        }
+        Integer itemStatus = itemStatuses.get(scheduleId);
+        return itemStatus != null ? new DeliveryResult(itemStatus, latencyNanos) : null;
+    }
+}
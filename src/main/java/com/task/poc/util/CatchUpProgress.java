@@ -0,0 +1,72 @@
+package com.task.poc.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Progress of one catch-up run over an overdue backlog, reported through the scheduler.catchup.* gauges
+ * and periodic log lines. The estimated drain time uses the rate observed so far, or the configured rate
+ * before anything has been replayed.
+ */
+public class CatchUpProgress {
+
+    private final long backlog;
+    private final double ratePerSecond;
+    private final LongSupplier nanoClock;
+    private final long startedAt;
+    private final AtomicLong replayed = new AtomicLong();
+
+    /**
+     * @param backlog       Number of overdue schedules found when the run started.
+     * @param ratePerSecond The configured replay rate.
+     */
+    public CatchUpProgress(long backlog, double ratePerSecond) {
+        this(backlog, ratePerSecond, System::nanoTime);
+    }
+
+    CatchUpProgress(long backlog, double ratePerSecond, LongSupplier nanoClock) {
+        this.backlog = backlog;
+        this.ratePerSecond = ratePerSecond;
+        this.nanoClock = nanoClock;
+        this.startedAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Counts a backlog schedule read from the overdue scan, whether it was dispatched or skipped.
+     */
+    public void recordReplayed() {
+        replayed.incrementAndGet();
+    }
+
+    /**
+     * @return Number of overdue schedules found when the run started.
+     */
+    public long getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * @return Number of backlog schedules replayed so far.
+     */
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    /**
+     * @return Number of backlog schedules still to replay.
+     */
+    public long remaining() {
+        return Math.max(0, backlog - replayed.get());
+    }
+
+    /**
+     * @return Estimated seconds until the backlog is drained.
+     */
+    public double etaSeconds() {
+        double elapsedSeconds = (nanoClock.getAsLong() - startedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+        long done = replayed.get();
+        double rate = done > 0 && elapsedSeconds > 0 ? done / elapsedSeconds : ratePerSecond;
+        return remaining() / rate;
+    }
+}
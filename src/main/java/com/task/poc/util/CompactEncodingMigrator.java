@@ -0,0 +1,64 @@
+package com.task.poc.util;
+
+import com.task.poc.repository.ScheduleStore;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rewrites schedules stored before scheduler.store.compact-encoding was enabled in the compact encoding.
+ * Both encodings stay readable meanwhile, so the migration runs in the background, paced to
+ * scheduler.store.migration.max-per-second, and stops finding work once every document has been rewritten.
+ */
+@Component
+@ConditionalOnExpression("${scheduler.store.compact-encoding:false} and '${scheduler.store.type:mongo}' == 'mongo'")
+@Log4j2
+public class CompactEncodingMigrator {
+
+    @Autowired
+    private ScheduleStore store;
+
+    @Value("${scheduler.store.migration.batch-size:500}")
+    private int batchSize;
+
+    @Value("${scheduler.store.migration.max-per-second:2000}")
+    private int maxPerSecond;
+
+    /**
+     * Rewrites schedules in batches until none in the default encoding are left.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.store.migration.interval-ms:60000}")
+    public void migrateSchedules() {
+        log.debug("Starting migrateSchedules method.");
+
+        try {
+            long started = System.nanoTime();
+            int migrated = 0;
+            int rewritten;
+
+            do {
+                rewritten = store.migrateInfoEncoding(batchSize);
+                migrated += rewritten;
+
+                // Pace the batches, so the migration never exceeds max-per-second
+                long aheadNanos = TimeUnit.SECONDS.toNanos(migrated) / maxPerSecond - (System.nanoTime() - started);
+                if (aheadNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                }
+            } while (rewritten > 0);
+
+            if (migrated > 0) {
+                log.info("Rewrote {} schedules in the compact encoding.", migrated);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.error("Error occurred while rewriting schedules in the compact encoding: ", ex);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.repository.ScheduleStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for finished executions.
+ * Completions are collected and flushed as one unordered bulk update once scheduler.write-back.batch-size
+ * of them are waiting, or scheduler.write-back.flush-interval-ms after the first one arrived.
+ * A completion is only written while its lease is still held, so a crash before the flush leads to the
+ * lease expiring and the schedule being delivered again rather than lost.
+ */
+@Component
+@Log4j2
+public class CompletionWriteBuffer {
+
+    @Autowired
+    private ScheduleStore store;
+
+    @Autowired
+    private ScheduleCache cache;
+
+    @Value("${scheduler.write-back.batch-size:500}")
+    private int batchSize;
+
+    @Value("${scheduler.write-back.flush-interval-ms:50}")
+    private long flushIntervalMillis;
+
+    private final LinkedBlockingQueue<ScheduleCompletion> pending = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @PostConstruct
+    public void startFlusher() {
+        running = true;
+        flusher = new Thread(this::run, "completion-write-buffer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stops the flusher and writes whatever is still buffered.
+     */
+    @PreDestroy
+    public void stopFlusher() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<ScheduleCompletion> remaining = new ArrayList<>();
+        pending.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    /**
+     * Buffers a completion for the next flush.
+     *
+     * @param completion The finished execution.
+     */
+    public void add(ScheduleCompletion completion) {
+        pending.add(completion);
+    }
+
+    /**
+     * @return Number of completions waiting to be flushed.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                ScheduleCompletion first = pending.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // Collect until the batch is full or the flush interval has passed since the first completion
+                List<ScheduleCompletion> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+                while (batch.size() < batchSize) {
+                    pending.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ScheduleCompletion next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<ScheduleCompletion> batch) {
+        try {
+            int completed = store.completeSchedules(batch);
+
+            // Executed flags and advanced occurrences make the cached copies stale
+            cache.invalidateAll(batch.stream().map(ScheduleCompletion::getId).toList());
+
+            if (completed < batch.size()) {
+                log.warn("Lease was lost before completion for {} of {} schedules.", batch.size() - completed, batch.size());
+            }
+            log.debug("Flushed {} schedule completions.", batch.size());
+        } catch (Exception ex) {
+            // Keep the completions for the next flush, the update is conditional on the lease so repeating it is safe
+            log.error("Failed to flush {} schedule completions, retrying with the next batch. Exception: ", batch.size(), ex);
+            pending.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.BatchDeliveryRequestDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces deliveries to the same target into batched callbacks (scheduler.delivery.batch.enabled).
+ * A batch is sent once it holds scheduler.delivery.batch.max-size schedules, or when the linger window that
+ * started with its first schedule has passed. Each schedule's future is completed with its own item result,
+ * so completion, retries and dead-lettering stay per schedule.
+ */
+@Component
+@Log4j2
+public class DeliveryBatcher {
+
+    private final DeliveryClient deliveryClient;
+    private final ScheduleMapper mapper;
+    private final SchedulerMetrics metrics;
+    // How long the first schedule of a batch waits for others to the same target
+    private final long lingerMillis;
+    private final int maxSize;
+
+    private final Map<String, Batch> openBatches = new HashMap<>();
+    private final Object lock = new Object();
+    private ScheduledExecutorService lingerTimer;
+
+    public DeliveryBatcher(DeliveryClient deliveryClient, ScheduleMapper mapper, SchedulerMetrics metrics,
+                           @Value("${scheduler.delivery.batch.linger-ms:20}") long lingerMillis,
+                           @Value("${scheduler.delivery.batch.max-size:100}") int maxSize) {
+        this.deliveryClient = deliveryClient;
+        this.mapper = mapper;
+        this.metrics = metrics;
+        this.lingerMillis = lingerMillis;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    public void startTimer() {
+        lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "delivery-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends the open batches and stops the linger timer.
+     */
+    @PreDestroy
+    public void stopTimer() {
+        List<Batch> remaining;
+        synchronized (lock) {
+            remaining = new ArrayList<>(openBatches.values());
+            openBatches.clear();
+        }
+        remaining.forEach(this::send);
+        lingerTimer.shutdownNow();
+    }
+
+    /**
+     * Adds a schedule to the open batch of its target.
+     *
+     * @param targetUrl The endpoint to call.
+     * @param schedule  The schedule being delivered.
+     * @return Future completed with the schedule's item result, or exceptionally if the request failed or the
+     * response has no result for the schedule.
+     */
+    public CompletableFuture<DeliveryResult> submit(String targetUrl, Schedule schedule) {
+        CompletableFuture<DeliveryResult> result = new CompletableFuture<>();
+        Batch full = null;
+
+        synchronized (lock) {
+            Batch batch = openBatches.computeIfAbsent(targetUrl, Batch::new);
+            if (batch.items.isEmpty()) {
+                batch.linger = lingerTimer.schedule(() -> sendIfOpen(batch), lingerMillis, TimeUnit.MILLISECONDS);
+            }
+            batch.items.add(new Item(schedule, result));
+
+            if (batch.items.size() >= maxSize) {
+                openBatches.remove(targetUrl);
+                batch.linger.cancel(false);
+                full = batch;
+            }
+        }
+
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    private void sendIfOpen(Batch batch) {
+        synchronized (lock) {
+            if (!openBatches.remove(batch.targetUrl, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        metrics.recordDeliveryBatch(batch.items.size());
+
+        try {
+            BatchDeliveryRequestDTO request = new BatchDeliveryRequestDTO(
+                    batch.items.stream().map(item -> mapper.toDto(item.schedule)).toList());
+
+            deliveryClient.postBatch(batch.targetUrl, request).whenComplete((response, error) -> {
+                for (Item item : batch.items) {
+                    if (error != null) {
+                        item.result.completeExceptionally(error);
+                        continue;
+                    }
+
+                    DeliveryResult itemResult = response.resultFor(item.schedule.getId());
+                    if (itemResult != null) {
+                        item.result.complete(itemResult);
+                    } else {
+                        item.result.completeExceptionally(new IllegalStateException(
+                                "Batch response has no result for schedule " + item.schedule.getId()));
+                    }
+                }
+            });
+        } catch (Exception ex) {
+            log.error("Failed to send a batch of {} schedules to {}. Exception: ", batch.items.size(), batch.targetUrl, ex);
+            batch.items.forEach(item -> item.result.completeExceptionally(ex));
+        }
+    }
+
+    private static final class Batch {
+        private final String targetUrl;
+        private final List<Item> items = new ArrayList<>();
+        private ScheduledFuture<?> linger;
+
+        private Batch(String targetUrl) {
+            this.targetUrl = targetUrl;
+        }
+    }
+
+    private record Item(Schedule schedule, CompletableFuture<DeliveryResult> result) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.task.poc.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.poc.models.schedule.BatchDeliveryRequestDTO;
+import com.task.poc.models.schedule.BatchDeliveryResponseDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Shared, non-blocking HTTP client for schedule callbacks.
+ * A single JDK HttpClient keeps connections alive and pools them per target, negotiates HTTP/2
+ * with https targets that support it and completes each request asynchronously when the response arrives.
+ * Plain http targets are always called over HTTP/1.1, since HTTP/2 there means an h2c upgrade attempt
+ * on every new connection.
+ */
+@Component
+@Log4j2
+public class DeliveryClient {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${scheduler.delivery.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    // Time allowed for the response, measured from sending the request
+    @Value("${scheduler.delivery.read-timeout-ms:10000}")
+    private long readTimeoutMillis;
+
+    // Version for https targets; HTTP_2 falls back to HTTP/1.1 when the target does not support it
+    @Value("${scheduler.delivery.http-version:HTTP_2}")
+    private HttpClient.Version httpVersion;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    public void createClient() {
+        httpClient = HttpClient.newBuilder()
+                .version(httpVersion)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    /**
+     * Sends an empty POST to the target with the schedule ID as the "id" query parameter.
+     *
+     * @param targetUrl  The endpoint to call.
+     * @param scheduleId The ID of the schedule being delivered.
+     * @return Future completed with the result, or exceptionally on connection errors and timeouts.
+     */
+    public CompletableFuture<DeliveryResult> post(String targetUrl, String scheduleId) {
+        HttpRequest request;
+        try {
+            URI uri = URI.create(withIdParameter(targetUrl, scheduleId));
+            request = HttpRequest.newBuilder(uri)
+                    .version(versionFor(uri))
+                    .timeout(Duration.ofMillis(readTimeoutMillis))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> new DeliveryResult(response.statusCode(), System.nanoTime() - start));
+    }
+
+    /**
+     * POSTs a batch of schedules as JSON to the target and reads the per-item results from the response,
+     * e.g. {"results": [{"id": "...", "status": 200}]}.
+     *
+     * @param targetUrl The endpoint to call.
+     * @param batch     The schedules being delivered.
+     * @return Future completed with the result, or exceptionally on connection errors, timeouts and
+     * unreadable responses.
+     */
+    public CompletableFuture<BatchDeliveryResult> postBatch(String targetUrl, BatchDeliveryRequestDTO batch) {
+        HttpRequest request;
+        try {
+            URI uri = URI.create(targetUrl);
+            request = HttpRequest.newBuilder(uri)
+                    .version(versionFor(uri))
+                    .timeout(Duration.ofMillis(readTimeoutMillis))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build();
+        } catch (IllegalArgumentException | JsonProcessingException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> new BatchDeliveryResult(response.statusCode(), System.nanoTime() - start,
+                        itemStatuses(response)));
+    }
+
+    /**
+     * @return Status per schedule ID from a successful batch response, empty for failed requests.
+     */
+    private Map<String, Integer> itemStatuses(HttpResponse<byte[]> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            return Map.of();
+        }
+
+        try {
+            BatchDeliveryResponseDTO body = objectMapper.readValue(response.body(), BatchDeliveryResponseDTO.class);
+            if (body.getResults() == null) {
+                return Map.of();
+            }
+            return body.getResults().stream().collect(Collectors.toMap(
+                    BatchDeliveryResponseDTO.ItemResult::getId, BatchDeliveryResponseDTO.ItemResult::getStatus,
+                    (first, second) -> second));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unreadable batch response", ex);
+        }
+    }
+
+    /**
+     * @return HTTP/1.1 for plain http targets, the configured version otherwise.
+     */
+    private HttpClient.Version versionFor(URI uri) {
+        return "http".equalsIgnoreCase(uri.getScheme()) ? HttpClient.Version.HTTP_1_1 : httpVersion;
+    }
+
+    /**
+     * Appends the schedule ID as a query parameter without going through a URI builder.
+     */
+    private static String withIdParameter(String targetUrl, String scheduleId) {
+        String separator = targetUrl.indexOf('?') >= 0 ? "&" : "?";
+        return targetUrl + separator + "id=" + URLEncoder.encode(scheduleId, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,23 @@
+package com.task.poc.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of a single callback delivery.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class DeliveryResult {
+    private int statusCode;
+    private long latencyNanos;
+
+    /**
+     * @return true if the endpoint answered with a 2xx status.
+     */
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+}
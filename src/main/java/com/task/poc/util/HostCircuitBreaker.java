@@ -0,0 +1,162 @@
+package com.task.poc.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker per delivery host.
+ * After failure-threshold consecutive failed deliveries the circuit opens and no calls are made to the host for
+ * open-ms. Then a single trial call is let through (half-open): its success closes the circuit, its failure
+ * opens it again. Responses with a client error status count as successes, since the host did answer.
+ */
+@Component
+public class HostCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final Map<String, Circuit> circuitsByHost = new ConcurrentHashMap<>();
+    private final SchedulerMetrics metrics;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    public HostCircuitBreaker(SchedulerMetrics metrics,
+                              @Value("${scheduler.delivery.circuit.failure-threshold:5}") int failureThreshold,
+                              @Value("${scheduler.delivery.circuit.open-ms:30000}") long openMillis) {
+        this.metrics = metrics;
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Asks permission to call the host. Never blocks.
+     *
+     * @param host The destination host.
+     * @return true if the call may be made; its outcome must then be reported with {@link #onSuccess(String)},
+     * {@link #onFailure(String)} or {@link #onCancelled(String)}.
+     */
+    public boolean tryAcquire(String host) {
+        return circuit(host).tryAcquire(System.currentTimeMillis());
+    }
+
+    /**
+     * @param host The destination host.
+     * @return The earliest time in epoch milliseconds at which a call to the host may be permitted again.
+     */
+    public long retryAt(String host) {
+        return circuit(host).retryAt(System.currentTimeMillis());
+    }
+
+    /**
+     * @param host The destination host whose call succeeded.
+     */
+    public void onSuccess(String host) {
+        circuit(host).onSuccess();
+    }
+
+    /**
+     * @param host The destination host whose call failed.
+     */
+    public void onFailure(String host) {
+        circuit(host).onFailure(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns a permission that was not used for a call.
+     *
+     * @param host The destination host.
+     */
+    public void onCancelled(String host) {
+        circuit(host).onCancelled();
+    }
+
+    /**
+     * @param host The destination host.
+     * @return The current state of the host's circuit.
+     */
+    public State state(String host) {
+        return circuit(host).state();
+    }
+
+    private Circuit circuit(String host) {
+        Circuit existing = circuitsByHost.get(host);
+        if (existing != null) {
+            return existing;
+        }
+        return circuitsByHost.computeIfAbsent(host, key -> {
+            Circuit created = new Circuit();
+            metrics.hostGauge("scheduler.delivery.circuit.open", "1 while deliveries to a host are suspended",
+                    key, created, circuit -> circuit.state() == State.OPEN ? 1 : 0);
+            return created;
+        });
+    }
+
+    /**
+     * State of one host's circuit.
+     */
+    private final class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean trialInFlight;
+
+        private synchronized boolean tryAcquire(long now) {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (now < openUntil) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    trialInFlight = true;
+                    return true;
+                default:
+                    if (trialInFlight) {
+                        return false;
+                    }
+                    trialInFlight = true;
+                    return true;
+            }
+        }
+
+        private synchronized long retryAt(long now) {
+            return state == State.OPEN ? Math.max(openUntil, now) : now;
+        }
+
+        private synchronized void onSuccess() {
+            // Late responses to calls made before the circuit opened do not close it
+            if (state != State.OPEN) {
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+                trialInFlight = false;
+            }
+        }
+
+        private synchronized void onFailure(long now) {
+            if (state == State.OPEN) {
+                return;
+            }
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openUntil = now + openMillis;
+                trialInFlight = false;
+            }
+        }
+
+        private synchronized void onCancelled() {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+            }
+        }
+
+        private synchronized State state() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.task.poc.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of concurrent deliveries to each destination host, adapting the limit to how the host copes.
+ * The limit follows AIMD: it grows by one per limit's worth of fast responses while it is in use, and shrinks by
+ * the backoff ratio whenever a delivery fails, is throttled or takes longer than the latency threshold.
+ * A slowing host therefore gets fewer concurrent calls, and callers that find no free slot defer instead of waiting.
+ */
+@Component
+public class HostConcurrencyLimiter {
+
+    private final Map<String, Limit> limitsByHost = new ConcurrentHashMap<>();
+    private final SchedulerMetrics metrics;
+    private final double initialLimit;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    public HostConcurrencyLimiter(SchedulerMetrics metrics,
+                                  @Value("${scheduler.delivery.limit.initial:20}") int initialLimit,
+                                  @Value("${scheduler.delivery.limit.min:1}") int minLimit,
+                                  @Value("${scheduler.execution.max-per-host:200}") int maxPerHost,
+                                  @Value("${scheduler.delivery.limit.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${scheduler.delivery.limit.latency-threshold-ms:2000}") long latencyThresholdMillis) {
+        this.metrics = metrics;
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxPerHost, this.minLimit);
+        this.initialLimit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+    }
+
+    /**
+     * Takes a delivery slot to the given host if one is free. Never blocks.
+     *
+     * @param host The destination host.
+     * @return true if a slot was taken and must be returned with {@link #release(String)} or
+     * {@link #release(String, long, boolean)}.
+     */
+    public boolean tryAcquire(String host) {
+        return limit(host).tryAcquire();
+    }
+
+    /**
+     * Returns a slot that was not used for a delivery, without adjusting the limit.
+     *
+     * @param host The destination host.
+     */
+    public void release(String host) {
+        limit(host).release();
+    }
+
+    /**
+     * Returns a slot after a delivery and adjusts the host's limit to the outcome.
+     *
+     * @param host         The destination host.
+     * @param latencyNanos Time from sending the request until the response or failure.
+     * @param failed       true if the delivery failed or the host throttled it.
+     */
+    public void release(String host, long latencyNanos, boolean failed) {
+        limit(host).release(failed || latencyNanos > latencyThresholdNanos);
+    }
+
+    /**
+     * @param host The destination host.
+     * @return The number of slots the host has handed out and not yet got back.
+     */
+    public int inFlight(String host) {
+        return limit(host).inFlight();
+    }
+
+    /**
+     * @param host The destination host.
+     * @return The host's current concurrency limit.
+     */
+    public int currentLimit(String host) {
+        return limit(host).current();
+    }
+
+    private Limit limit(String host) {
+        Limit existing = limitsByHost.get(host);
+        if (existing != null) {
+            return existing;
+        }
+        return limitsByHost.computeIfAbsent(host, key -> {
+            Limit created = new Limit();
+            metrics.hostGauge("scheduler.delivery.limit", "Current adaptive concurrency limit of a delivery host",
+                    key, created, Limit::current);
+            return created;
+        });
+    }
+
+    /**
+     * AIMD state of one host.
+     */
+    private final class Limit {
+        private double limit = initialLimit;
+        private int inFlight;
+
+        private synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        private synchronized void release() {
+            inFlight--;
+        }
+
+        private synchronized void release(boolean overloaded) {
+            // Only grow while the limit is actually used, otherwise an idle host would earn an unbounded limit
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+
+            if (overloaded) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+
+        private synchronized int inFlight() {
+            return inFlight;
+        }
+
+        private synchronized int current() {
+            return (int) limit;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Due schedules waiting for their delivery host, in arrival order per host.
+ * A schedule that finds no free delivery slot, or a half-open circuit whose trial call is still in flight, waits
+ * here instead of going back into the timing wheel, and is taken out again when the host returns a slot or its
+ * circuit settles. Waiting therefore costs nothing until the host can take another call.
+ */
+public class HostWaitQueue {
+
+    private final Map<String, Queue<Schedule>> waitingByHost = new HashMap<>();
+
+    private int size;
+
+    /**
+     * Appends a schedule to its host's queue.
+     *
+     * @param host     The destination host
+     * @param schedule The due schedule
+     */
+    public synchronized void add(String host, Schedule schedule) {
+        waitingByHost.computeIfAbsent(host, key -> new ArrayDeque<>()).add(schedule);
+        size++;
+    }
+
+    /**
+     * @param host The destination host
+     * @return The schedule that has waited longest for the host, or null if none is waiting
+     */
+    public synchronized Schedule poll(String host) {
+        Queue<Schedule> waiting = waitingByHost.get(host);
+        if (waiting == null) {
+            return null;
+        }
+
+        Schedule next = waiting.poll();
+        if (waiting.isEmpty()) {
+            waitingByHost.remove(host);
+        }
+        size--;
+        return next;
+    }
+
+    /**
+     * @param host The destination host
+     * @return Every schedule waiting for the host, in arrival order
+     */
+    public synchronized List<Schedule> drain(String host) {
+        Queue<Schedule> waiting = waitingByHost.remove(host);
+        if (waiting == null) {
+            return List.of();
+        }
+
+        size -= waiting.size();
+        return new ArrayList<>(waiting);
+    }
+
+    /**
+     * @return The number of schedules waiting for any host
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
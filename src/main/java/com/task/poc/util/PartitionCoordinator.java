@@ -0,0 +1,184 @@
+package com.task.poc.util;
+
+import com.task.poc.repository.PartitionLeaseRepository;
+import com.task.poc.repository.ScheduleStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the schedule partitions among the running nodes.
+ * Every node keeps a heartbeat in the scheduler-nodes collection and aims to own its fair share,
+ * ceil(partitions / live nodes), through renewable leases in the scheduler-partitions collection:
+ * it gives up partitions beyond its share so a joining node can take them, and takes over free or expired
+ * ones while below it, e.g. those of a node that left. Changes are published as {@link PartitionsChangedEvent}.
+ * With a store local to this process there is nobody to share with, and the node owns every partition
+ * without leases.
+ */
+@Component
+@Log4j2
+public class PartitionCoordinator {
+
+    // Absent with a local store
+    @Autowired(required = false)
+    private PartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private ScheduleStore store;
+
+    @Autowired
+    private SchedulePartitioner partitioner;
+
+    @Autowired
+    private SchedulerNode node;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SchedulerMetrics metrics;
+
+    // How long a partition stays owned without renewal, several rebalance intervals
+    @Value("${scheduler.partitions.lease-ms:30000}")
+    private long leaseMillis;
+
+    // How long a node counts as alive without a heartbeat
+    @Value("${scheduler.partitions.node-ttl-ms:15000}")
+    private long nodeTtlMillis;
+
+    private volatile Set<Integer> ownedPartitions = Set.of();
+
+    @PostConstruct
+    public void preparePartitions() {
+        try {
+            int partitionCount = partitioner.getPartitionCount();
+
+            // The lease documents record the partition count the deployment last ran with
+            boolean countChanged = !store.isLocal() && leaseRepository.countPartitions() != partitionCount;
+
+            // Schedules stored before partitioning, or all of them under a different partition count
+            int assigned = store.assignPartitions(partitioner::partitionOf, countChanged);
+            if (assigned > 0) {
+                log.info("Assigned partitions to {} existing schedules.", assigned);
+            }
+
+            // Leases last, so a startup interrupted before all schedules are re-partitioned repeats it
+            if (!store.isLocal()) {
+                leaseRepository.ensurePartitions(partitionCount);
+                long removed = leaseRepository.removePartitionsFrom(partitionCount);
+                if (countChanged) {
+                    log.info("Partition count changed to {}, removed {} leases outside of it.", partitionCount, removed);
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Failed to prepare schedule partitions. Exception: ", ex);
+        }
+
+        metrics.gauge("scheduler.partitions.owned", "Schedule partitions owned by this node",
+                this, coordinator -> coordinator.getOwnedPartitions().size());
+    }
+
+    /**
+     * Renews this node's leases and moves its share of partitions towards ceil(partitions / live nodes).
+     */
+    @Scheduled(fixedDelayString = "${scheduler.partitions.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        log.debug("Starting rebalance method.");
+
+        if (store.isLocal()) {
+            publishChanges(IntStream.range(0, partitioner.getPartitionCount()).boxed().collect(Collectors.toSet()));
+            return;
+        }
+
+        try {
+            Date now = new Date();
+            Date leaseExpiry = new Date(now.getTime() + leaseMillis);
+            leaseRepository.heartbeat(node.getId(), new Date(now.getTime() + nodeTtlMillis));
+
+            long liveNodes = Math.max(1, leaseRepository.countLiveNodes(now));
+            int fairShare = (int) Math.ceil(partitioner.getPartitionCount() / (double) liveNodes);
+
+            TreeSet<Integer> owned = new TreeSet<>(leaseRepository.renewLeases(node.getId(), leaseExpiry));
+
+            if (owned.size() > fairShare) {
+                // Give up the partitions beyond the fair share, so the nodes that joined can take them
+                List<Integer> surplus = new ArrayList<>(owned.descendingSet()).subList(0, owned.size() - fairShare);
+                leaseRepository.release(surplus, node.getId());
+                surplus.forEach(owned::remove);
+            } else if (owned.size() < fairShare) {
+                // Take over free or expired partitions in random order, so nodes starting together do not collide
+                List<Integer> acquirable = new ArrayList<>(leaseRepository.findAcquirable(now));
+                Collections.shuffle(acquirable);
+                for (Integer partition : acquirable) {
+                    if (owned.size() >= fairShare) {
+                        break;
+                    }
+                    if (leaseRepository.tryAcquire(partition, node.getId(), now, leaseExpiry)) {
+                        owned.add(partition);
+                    }
+                }
+            }
+
+            publishChanges(owned);
+        } catch (Exception ex) {
+            log.error("Error occurred while rebalancing schedule partitions: ", ex);
+        }
+    }
+
+    /**
+     * Hands all partitions back on shutdown, so the remaining nodes take them over without waiting
+     * for the leases to expire.
+     */
+    @PreDestroy
+    public void releasePartitions() {
+        if (store.isLocal()) {
+            return;
+        }
+
+        try {
+            leaseRepository.release(ownedPartitions, node.getId());
+            leaseRepository.removeHeartbeat(node.getId());
+            ownedPartitions = Set.of();
+        } catch (Exception ex) {
+            log.error("Failed to release schedule partitions. Exception: ", ex);
+        }
+    }
+
+    /**
+     * @return The partitions this node currently owns.
+     */
+    public Set<Integer> getOwnedPartitions() {
+        return ownedPartitions;
+    }
+
+    private void publishChanges(Set<Integer> owned) {
+        Set<Integer> previous = ownedPartitions;
+        ownedPartitions = Set.copyOf(owned);
+
+        Set<Integer> acquired = new HashSet<>(owned);
+        acquired.removeAll(previous);
+        Set<Integer> released = new HashSet<>(previous);
+        released.removeAll(owned);
+
+        if (!acquired.isEmpty() || !released.isEmpty()) {
+            log.info("Partition ownership changed: acquired {}, released {}, now owning {} of {}.",
+                    acquired, released, owned.size(), partitioner.getPartitionCount());
+            eventPublisher.publishEvent(new PartitionsChangedEvent(acquired, released));
+        }
+    }
+}
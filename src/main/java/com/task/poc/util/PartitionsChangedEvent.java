@@ -0,0 +1,18 @@
+package com.task.poc.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Published when this node takes over or gives up schedule partitions.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PartitionsChangedEvent {
+    private Set<Integer> acquired;
+    private Set<Integer> released;
+}
@@ -0,0 +1,146 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.MissedOccurrencePolicy;
+import com.task.poc.models.common.RecurrencePattern;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.util.StringUtils;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * Computes the occurrences of recurring schedules.
+ * Occurrences are counted from the first occurrence of the series in the schedule's time zone, so the
+ * local time of day survives DST changes and monthly series anchored on the 31st do not drift to the 28th.
+ */
+@Log4j2
+public final class RecurrenceCalculator {
+
+    private RecurrenceCalculator() {
+    }
+
+    /**
+     * Works out what happens after firing the current occurrence of a schedule.
+     *
+     * @param schedule The claimed schedule.
+     * @param now      The current time.
+     * @return The plan; for one-shot schedules it has no next occurrence.
+     */
+    public static Plan plan(Schedule schedule, Date now) {
+        RecurrencePattern pattern = patternOf(schedule.getInfo());
+        if (pattern == null) {
+            return new Plan(null, null, false);
+        }
+
+        ZoneId zone = zoneOf(schedule.getInfo());
+        Date seriesStart = schedule.getSeriesStartDateTime() != null
+                ? schedule.getSeriesStartDateTime()
+                : schedule.getStartDateTime();
+
+        Date next = nextOccurrence(seriesStart, schedule.getStartDateTime(), pattern, zone);
+        if (next.after(now)) {
+            return new Plan(next, seriesStart, false);
+        }
+
+        // Later occurrences are already due, so some were missed while the service was down
+        MissedOccurrencePolicy policy = schedule.getInfo().getMissedOccurrencePolicy() != null
+                ? schedule.getInfo().getMissedOccurrencePolicy()
+                : MissedOccurrencePolicy.SKIP;
+
+        return new Plan(nextOccurrence(seriesStart, now, pattern, zone), seriesStart,
+                policy == MissedOccurrencePolicy.SKIP);
+    }
+
+    /**
+     * Finds the first occurrence of a series strictly after the given time.
+     *
+     * @param seriesStart The first occurrence of the series.
+     * @param after       The time the next occurrence must follow.
+     * @param pattern     The recurrence pattern.
+     * @param zone        The time zone the series is defined in.
+     * @return The next occurrence.
+     */
+    public static Date nextOccurrence(Date seriesStart, Date after, RecurrencePattern pattern, ZoneId zone) {
+        ChronoUnit unit = unitOf(pattern);
+        long step = pattern == RecurrencePattern.BIWEEKLY ? 2 : 1;
+
+        ZonedDateTime start = seriesStart.toInstant().atZone(zone);
+        ZonedDateTime limit = after.toInstant().atZone(zone);
+
+        // Estimate the occurrence number, then correct for DST shifts and month lengths
+        long n = Math.max(1, unit.between(start, limit) / step);
+        while (n > 1 && start.plus((n - 1) * step, unit).isAfter(limit)) {
+            n--;
+        }
+        while (!start.plus(n * step, unit).isAfter(limit)) {
+            n++;
+        }
+        return Date.from(start.plus(n * step, unit).toInstant());
+    }
+
+    /**
+     * @param info The schedule info.
+     * @return The recurrence pattern, or null if the schedule does not recur.
+     */
+    public static RecurrencePattern patternOf(ScheduleInfoDTO info) {
+        if (info == null || !info.isRecurring() || !StringUtils.hasText(info.getRecurrencePattern())) {
+            return null;
+        }
+
+        try {
+            RecurrencePattern pattern = RecurrencePattern.valueOf(info.getRecurrencePattern().trim().toUpperCase());
+            return pattern == RecurrencePattern.NONE ? null : pattern;
+        } catch (IllegalArgumentException ex) {
+            log.warn("Unknown recurrence pattern: {}, treating schedule as one-shot.", info.getRecurrencePattern());
+            return null;
+        }
+    }
+
+    /**
+     * @param info The schedule info.
+     * @return The schedule's time zone, UTC if it has none or an invalid one.
+     */
+    public static ZoneId zoneOf(ScheduleInfoDTO info) {
+        if (info == null || !StringUtils.hasText(info.getTimeZone())) {
+            return ZoneOffset.UTC;
+        }
+
+        try {
+            return ZoneId.of(info.getTimeZone());
+        } catch (DateTimeException ex) {
+            log.warn("Unknown time zone: {}, using UTC.", info.getTimeZone());
+            return ZoneOffset.UTC;
+        }
+    }
+
+    private static ChronoUnit unitOf(RecurrencePattern pattern) {
+        return switch (pattern) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY, BIWEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+            case YEARLY -> ChronoUnit.YEARS;
+            case NONE -> throw new IllegalArgumentException("NONE has no occurrences");
+        };
+    }
+
+    /**
+     * Outcome of firing one occurrence.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Plan {
+        // Next occurrence, null for one-shot schedules
+        private final Date nextStartDateTime;
+        private final Date seriesStartDateTime;
+        // True if the occurrence was missed and the SKIP policy applies, so it is not delivered
+        private final boolean skipDelivery;
+    }
+}
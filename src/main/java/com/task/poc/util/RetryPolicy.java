@@ -0,0 +1,74 @@
+package com.task.poc.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed delivery is retried and when.
+ * The backoff grows exponentially per attempt up to a cap, and a random jitter of up to half the backoff
+ * keeps schedules that failed together against the same endpoint from retrying in lockstep.
+ */
+@Component
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+
+    public RetryPolicy(@Value("${scheduler.retry.max-attempts:5}") int maxAttempts,
+                       @Value("${scheduler.retry.initial-backoff-ms:1000}") long initialBackoffMillis,
+                       @Value("${scheduler.retry.max-backoff-ms:300000}") long maxBackoffMillis,
+                       @Value("${scheduler.retry.multiplier:2.0}") double multiplier) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Connection errors, timeouts, 408, 429 and 5xx responses are worth retrying; other statuses will not change.
+     *
+     * @param result The delivery result, null if no response arrived.
+     * @param error  The delivery error, null if a response arrived.
+     * @return true if the delivery may succeed when tried again.
+     */
+    public boolean isRetryable(DeliveryResult result, Throwable error) {
+        if (error != null || result == null) {
+            return true;
+        }
+        int status = result.getStatusCode();
+        return status == 408 || status == 429 || status >= 500;
+    }
+
+    /**
+     * @param attempts Number of failed attempts so far.
+     * @return true if another attempt is allowed.
+     */
+    public boolean hasAttemptsLeft(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    /**
+     * @param attempts Number of failed attempts so far, at least 1.
+     * @return The backoff before the next attempt without jitter: initial * multiplier^(attempts - 1), capped.
+     */
+    public long backoffMillis(int attempts) {
+        double backoff = initialBackoffMillis * Math.pow(multiplier, Math.max(attempts - 1, 0));
+        return (long) Math.min(backoff, maxBackoffMillis);
+    }
+
+    /**
+     * @param attempts Number of failed attempts so far, at least 1.
+     * @param now      The time of the failure.
+     * @return When the next attempt is due, somewhere between half the backoff and the full backoff from now.
+     */
+    public Date nextAttemptAt(int attempts, Date now) {
+        long backoff = backoffMillis(attempts);
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        return new Date(now.getTime() + jittered);
+    }
+}
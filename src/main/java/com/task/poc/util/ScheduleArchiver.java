@@ -0,0 +1,109 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.repository.ScheduleHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves executed one-shot schedules of this node's partitions to the history collection, so schedule-collection
+ * and its indexes only hold schedules that may still fire.
+ * Batches are paced to scheduler.archive.max-per-second and each run stops after scheduler.archive.max-per-run,
+ * so archiving a large history never competes with dispatch for Mongo. Only the shared Mongo store is archived.
+ */
+@Component
+@ConditionalOnExpression("${scheduler.archive.enabled:true} and '${scheduler.store.type:mongo}' == 'mongo'")
+@Log4j2
+public class ScheduleArchiver {
+
+    @Autowired
+    private ScheduleHistoryRepository historyRepository;
+
+    @Autowired
+    private PartitionCoordinator partitionCoordinator;
+
+    @Autowired
+    private SchedulerMetrics metrics;
+
+    // How long executed schedules stay in schedule-collection before they are archived
+    @Value("${scheduler.archive.archive-after-ms:3600000}")
+    private long archiveAfterMillis;
+
+    // How long archived schedules are kept after their execution
+    @Value("${scheduler.archive.retention:90d}")
+    private Duration retention;
+
+    @Value("${scheduler.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${scheduler.archive.max-per-second:2000}")
+    private int maxPerSecond;
+
+    @Value("${scheduler.archive.max-per-run:100000}")
+    private int maxPerRun;
+
+    @PostConstruct
+    public void ensureRetention() {
+        try {
+            historyRepository.ensureRetentionIndex(retention);
+        } catch (Exception ex) {
+            log.error("Failed to ensure the retention index of the schedule history. Exception: ", ex);
+        }
+    }
+
+    /**
+     * Archives executed schedules in batches until none are left or the per-run limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.archive.interval-ms:60000}")
+    public void archiveExecutedSchedules() {
+        log.debug("Starting archiveExecutedSchedules method.");
+
+        Set<Integer> partitions = partitionCoordinator.getOwnedPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        try {
+            Date executedBefore = new Date(System.currentTimeMillis() - archiveAfterMillis);
+            long started = System.nanoTime();
+            int archived = 0;
+
+            while (archived < maxPerRun) {
+                List<Schedule> batch = historyRepository.findArchivable(partitions, executedBefore,
+                        Math.min(batchSize, maxPerRun - archived));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                historyRepository.archive(batch);
+                archived += batch.size();
+                metrics.recordArchived(batch.size());
+
+                // Pace the batches, so the run never exceeds max-per-second
+                long aheadNanos = TimeUnit.SECONDS.toNanos(archived) / maxPerSecond - (System.nanoTime() - started);
+                if (aheadNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                }
+            }
+
+            if (archived > 0) {
+                log.info("Archived {} executed schedules to {}.", archived, ScheduleHistoryRepository.COLLECTION);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.error("Error occurred while archiving executed schedules: ", ex);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.database.Schedule;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.util.StringUtils;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Dispatch queue between the due schedules and the executor.
+ * Only scheduler.dispatch.max-running tasks are running at a time; the rest wait here, so the order in which
+ * they run is decided by this queue instead of the executor's FIFO queue. A task counts as running until the
+ * future it returns completes, so asynchronous deliveries hold their slot until the response arrives:
+ * <ul>
+ *     <li>Higher priorities always go first (schedules without a priority count as MEDIUM).</li>
+ *     <li>Within a priority, categories share the executor in proportion to their weights (stride scheduling),
+ *     so a burst in one category does not starve the others (schedules without a category count as OTHER).</li>
+ *     <li>Within a category, earlier startDateTime goes first.</li>
+ * </ul>
+ * The time every schedule spent waiting here is reported per priority. The queue holds at most
+ * scheduler.dispatch.queue-capacity schedules; producers either back off or wait when it is full.
+ */
+@Log4j2
+public class ScheduleDispatchQueue {
+
+    private static final Comparator<Entry> DUE_ORDER = Comparator
+            .comparingLong((Entry entry) -> entry.startMillis)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final Executor executor;
+    private final int maxRunning;
+    private final int capacity;
+    private final SchedulerMetrics metrics;
+    private final Map<Priority, Level> levels = new EnumMap<>(Priority.class);
+    private final Object lock = new Object();
+
+    private int running;
+    private int queued;
+    private long sequence;
+
+    /**
+     * Creates a new dispatch queue.
+     *
+     * @param executor        The executor that runs the dispatched tasks
+     * @param maxRunning      Maximum number of tasks whose future has not completed yet
+     * @param capacity        Maximum number of schedules waiting in the queue
+     * @param categoryWeights Relative share of each category within a priority, 1 for categories not listed
+     * @param metrics         Receives the queue wait time of every dispatched schedule
+     */
+    public ScheduleDispatchQueue(Executor executor, int maxRunning, int capacity,
+                                 Map<Category, Integer> categoryWeights, SchedulerMetrics metrics) {
+        this.executor = executor;
+        this.maxRunning = Math.max(maxRunning, 1);
+        this.capacity = Math.max(capacity, 1);
+        this.metrics = metrics;
+        for (Priority priority : Priority.values()) {
+            levels.put(priority, new Level(categoryWeights));
+        }
+    }
+
+    /**
+     * Queues a task for a due schedule and hands it to the executor as soon as it is next in line.
+     * Never blocks.
+     *
+     * @param schedule The due schedule, used for ordering
+     * @param task     The work to run on the executor, returning a future completed when the work has finished
+     * @return false if the queue is full and the task was not queued
+     */
+    public boolean offer(Schedule schedule, Supplier<? extends CompletionStage<?>> task) {
+        Entry entry = entryOf(schedule, task);
+
+        synchronized (lock) {
+            if (queued >= capacity) {
+                return false;
+            }
+            add(entry, schedule);
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * Queues a task for a due schedule, waiting while the queue is full.
+     *
+     * @param schedule The due schedule, used for ordering
+     * @param task     The work to run on the executor, returning a future completed when the work has finished
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public void put(Schedule schedule, Supplier<? extends CompletionStage<?>> task) throws InterruptedException {
+        Entry entry = entryOf(schedule, task);
+
+        synchronized (lock) {
+            while (queued >= capacity) {
+                lock.wait();
+            }
+            add(entry, schedule);
+        }
+        drain();
+    }
+
+    private Entry entryOf(Schedule schedule, Supplier<? extends CompletionStage<?>> task) {
+        long startMillis = schedule.getStartDateTime() != null ? schedule.getStartDateTime().getTime() : 0;
+        return new Entry(schedule.getId(), priorityOf(schedule), startMillis, System.nanoTime(), task);
+    }
+
+    /**
+     * Adds an entry to the lane of its priority and category. Must hold the lock.
+     */
+    private void add(Entry entry, Schedule schedule) {
+        entry.sequence = sequence++;
+        levels.get(entry.priority).add(categoryOf(schedule), entry);
+        queued++;
+    }
+
+    /**
+     * @return Number of schedules waiting in the queue
+     */
+    public int size() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    /**
+     * @return Number of tasks handed to the executor whose future has not completed yet
+     */
+    public int running() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /**
+     * Hands the next tasks in line to the executor while there is room.
+     */
+    private void drain() {
+        while (true) {
+            Entry next;
+            synchronized (lock) {
+                if (running >= maxRunning || queued == 0) {
+                    return;
+                }
+                next = poll();
+                queued--;
+                running++;
+                lock.notifyAll();
+            }
+
+            metrics.recordQueueWait(next.priority, System.nanoTime() - next.enqueuedNanos);
+            try {
+                executor.execute(() -> run(next));
+            } catch (RejectedExecutionException ex) {
+                log.error("Executor rejected schedule with ID: {}. Exception: ", next.id, ex);
+                finished();
+            }
+        }
+    }
+
+    private void run(Entry entry) {
+        CompletionStage<?> completion;
+        try {
+            completion = entry.task.get();
+        } catch (Exception ex) {
+            log.error("Failed to run dispatched schedule with ID: {}. Exception: ", entry.id, ex);
+            finished();
+            return;
+        }
+
+        if (completion == null) {
+            finished();
+        } else {
+            completion.whenComplete((ignored, error) -> finished());
+        }
+    }
+
+    private void finished() {
+        synchronized (lock) {
+            running--;
+        }
+        drain();
+    }
+
+    /**
+     * @return The next entry in line, from the highest non-empty priority. Must hold the lock and queued > 0.
+     */
+    private Entry poll() {
+        Priority[] priorities = Priority.values();
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            Level level = levels.get(priorities[i]);
+            if (level.size > 0) {
+                return level.poll();
+            }
+        }
+        throw new IllegalStateException("Dispatch queue is empty");
+    }
+
+    private static Priority priorityOf(Schedule schedule) {
+        return schedule.getInfo() != null && schedule.getInfo().getPriority() != null
+                ? schedule.getInfo().getPriority()
+                : Priority.MEDIUM;
+    }
+
+    private static Category categoryOf(Schedule schedule) {
+        return schedule.getInfo() != null && schedule.getInfo().getCategory() != null
+                ? schedule.getInfo().getCategory()
+                : Category.OTHER;
+    }
+
+    /**
+     * Parses category weights written as "WORK=3,HEALTH=2". Unknown categories and invalid weights are skipped.
+     *
+     * @param value The configured weights, may be empty
+     * @return The weight of every listed category
+     */
+    public static Map<Category, Integer> parseWeights(String value) {
+        Map<Category, Integer> weights = new EnumMap<>(Category.class);
+        if (!StringUtils.hasText(value)) {
+            return weights;
+        }
+
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split("=");
+            try {
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    weights.put(Category.valueOf(parts[0].trim().toUpperCase()), weight);
+                    continue;
+                }
+            } catch (RuntimeException ignored) {
+                // Reported below
+            }
+            log.warn("Ignoring invalid category weight: {}", pair);
+        }
+        return weights;
+    }
+
+    /**
+     * The queued schedules of one priority, one lane per category.
+     * Each lane advances its pass by 1/weight when it is served and the lane with the lowest pass goes next.
+     * A lane that becomes active again starts at the current pass, so it cannot cash in time it spent idle.
+     */
+    private static final class Level {
+        private final Map<Category, Lane> lanes = new EnumMap<>(Category.class);
+        private double currentPass;
+        private int size;
+
+        private Level(Map<Category, Integer> weights) {
+            for (Category category : Category.values()) {
+                lanes.put(category, new Lane(1.0 / weights.getOrDefault(category, 1)));
+            }
+        }
+
+        private void add(Category category, Entry entry) {
+            Lane lane = lanes.get(category);
+            if (lane.entries.isEmpty()) {
+                lane.pass = Math.max(lane.pass, currentPass);
+            }
+            lane.entries.add(entry);
+            size++;
+        }
+
+        private Entry poll() {
+            Lane next = null;
+            for (Lane lane : lanes.values()) {
+                if (!lane.entries.isEmpty() && (next == null || lane.pass < next.pass)) {
+                    next = lane;
+                }
+            }
+
+            currentPass = next.pass;
+            next.pass += next.stride;
+            size--;
+            return next.entries.poll();
+        }
+    }
+
+    private static final class Lane {
+        private final PriorityQueue<Entry> entries = new PriorityQueue<>(DUE_ORDER);
+        private final double stride;
+        private double pass;
+
+        private Lane(double stride) {
+            this.stride = stride;
+        }
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final Priority priority;
+        private final long startMillis;
+        private final long enqueuedNanos;
+        private final Supplier<? extends CompletionStage<?>> task;
+        private long sequence;  // Tie-breaker within a lane, assigned when the entry is added
+
+        private Entry(String id, Priority priority, long startMillis, long enqueuedNanos,
+                      Supplier<? extends CompletionStage<?>> task) {
+            this.id = id;
+            this.priority = priority;
+            this.startMillis = startMillis;
+            this.enqueuedNanos = enqueuedNanos;
+            this.task = task;
+        }
+    }
+}
@@ -1,137 +1,754 @@
 package com.task.poc.util;
 
+import com.task.poc.models.database.DeadLetter;
 import com.task.poc.models.database.Schedule;
-import com.task.poc.repository.SchedulerRepository;
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.repository.DeadLetterStore;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.repository.ScheduleStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.util.StringUtils;
 
+import java.net.URI;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * Service for executing scheduled tasks when their scheduled time is reached.
- * This service periodically checks for pending schedules and processes them.
+ * Schedules of the upcoming look-ahead window are held in an in-memory timing wheel and fired
+ * within one tick of their start time. Mongo is only read to load each new window.
+ * Due schedules pass through a priority dispatch queue on their way to the executor.
+ * Window loads and overdue scans only read the partitions this node owns (see {@link PartitionCoordinator}).
  */
 @Service
 @Log4j2
 public class ScheduleExecutionService {
 
     @Autowired
-    private SchedulerRepository repository;
+    private ScheduleStore store;
+
+    @Autowired
+    private SchedulerNode node;
+
+    @Autowired
+    private PartitionCoordinator partitionCoordinator;
+
+    @Autowired
+    @Qualifier("scheduleExecutor")
+    private ExecutorService executorService;
+
+    @Autowired
+    private HostConcurrencyLimiter hostLimiter;
+
+    @Autowired
+    private HostCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private DeliveryClient deliveryClient;
+
+    @Autowired
+    private DeliveryBatcher deliveryBatcher;
+
+    @Autowired
+    private CompletionWriteBuffer writeBuffer;
+
+    @Autowired
+    private SchedulerMetrics metrics;
+
+    @Autowired
+    private RetryPolicy retryPolicy;
+
+    @Autowired
+    private DeadLetterStore deadLetterStore;
+
+    @Autowired
+    private ScheduleCache cache;
 
     // Inject the external API URL from the application.yml file
     @Value("${external.api.url}")
     private String externalApiUrl;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(5); // Thread pool for parallel execution
+    // Firing precision of the timing wheel
+    @Value("${scheduler.wheel.tick-ms:10}")
+    private long tickMillis;
+
+    // Number of buckets in the timing wheel
+    @Value("${scheduler.wheel.size:512}")
+    private int wheelSize;
+
+    // How far ahead of the current time schedules are loaded into the wheel
+    @Value("${scheduler.wheel.window-ms:120000}")
+    private long windowMillis;
+
+    // How long a claimed schedule stays reserved for this node before others may reclaim it
+    @Value("${scheduler.lease.duration-ms:60000}")
+    private long leaseMillis;
+
+    // Overdue schedules younger than this are left to the wheel that holds them
+    @Value("${scheduler.lease.reclaim-grace-ms:10000}")
+    private long reclaimGraceMillis;
+
+    // Coalesce deliveries to the same target into batched callbacks
+    @Value("${scheduler.delivery.batch.enabled:false}")
+    private boolean batchDelivery;
+
+    // How long a due schedule waits in the wheel before trying again when the dispatch queue is full or,
+    // past the open period, when its host's circuit is open
+    @Value("${scheduler.delivery.defer-ms:100}")
+    private long deferMillis;
+
+    // Maximum number of backlog schedules queued or running at once
+    @Value("${scheduler.dispatch.max-in-flight:50}")
+    private int maxInFlight;
+
+    // Maximum number of executions handed to the executor at once, the rest wait in the dispatch queue
+    @Value("${scheduler.dispatch.max-running:10}")
+    private int maxRunning;
+
+    // Maximum number of due schedules waiting in the dispatch queue
+    @Value("${scheduler.dispatch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Relative share of each category within a priority, e.g. "WORK=3,HEALTH=2"
+    @Value("${scheduler.dispatch.category-weights:}")
+    private String categoryWeights;
+
+    // Overdue backlogs of at least this many schedules are replayed at the catch-up rate
+    @Value("${scheduler.catch-up.threshold:1000}")
+    private long catchUpThreshold;
+
+    // Backlog schedules dispatched per second during catch-up, per node
+    @Value("${scheduler.catch-up.rate-per-second:100}")
+    private double catchUpRatePerSecond;
+
+    @Value("${scheduler.catch-up.burst:50}")
+    private int catchUpBurst;
+
+    // How often catch-up progress is logged
+    @Value("${scheduler.catch-up.progress-interval-ms:10000}")
+    private long catchUpProgressIntervalMillis;
+
+    // Free executor capacity for backlog dispatch, the overdue scan pauses while none is left
+    private Semaphore dispatchPermits;
+
+    private ScheduleTimingWheel timingWheel;
+
+    // Orders due schedules by priority, category share and start time before they reach the executor
+    private ScheduleDispatchQueue dispatchQueue;
+
+    // Due schedules waiting for a delivery slot or a circuit outcome of their host
+    private final HostWaitQueue hostWaitQueue = new HostWaitQueue();
+
+    // Paces backlog dispatch while catching up
+    private TokenBucket catchUpLimiter;
+
+    // Progress of the running catch-up, null while none is running
+    private volatile CatchUpProgress catchUp;
+
+    // End of the window already loaded into the wheel, null until the first load
+    private volatile Date loadedHorizon;
+
+    // IDs of schedules queued or executing on this node, so a schedule is never queued twice
+    private final Set<String> inFlightIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void startTimingWheel() {
+        dispatchQueue = new ScheduleDispatchQueue(executorService, maxRunning, queueCapacity,
+                ScheduleDispatchQueue.parseWeights(categoryWeights), metrics);
+        timingWheel = new ScheduleTimingWheel(tickMillis, wheelSize, this::dispatch);
+        timingWheel.start();
+        dispatchPermits = new Semaphore(maxInFlight);
+        catchUpLimiter = new TokenBucket(catchUpRatePerSecond, catchUpBurst);
+
+        metrics.gauge("scheduler.wheel.size", "Schedules waiting in the timing wheel",
+                timingWheel, ScheduleTimingWheel::size);
+        metrics.gauge("scheduler.queue.size", "Due schedules waiting in the dispatch queue",
+                dispatchQueue, ScheduleDispatchQueue::size);
+        metrics.gauge("scheduler.delivery.waiting", "Due schedules waiting for their delivery host",
+                hostWaitQueue, HostWaitQueue::size);
+        metrics.gauge("scheduler.backlog.in.flight", "Backlog schedules queued or awaiting their response",
+                dispatchPermits, permits -> maxInFlight - permits.availablePermits());
+        metrics.gauge("scheduler.executions.in.flight", "Executions queued or awaiting their response",
+                inFlightIds, Set::size);
+        metrics.gauge("scheduler.writeback.pending", "Completions waiting to be written back",
+                writeBuffer, CompletionWriteBuffer::size);
+        metrics.gauge("scheduler.catchup.remaining", "Overdue backlog schedules still to replay during catch-up",
+                this, service -> service.catchUp != null ? service.catchUp.remaining() : 0);
+        metrics.gauge("scheduler.catchup.eta.seconds", "Estimated time until the catch-up backlog is drained",
+                this, service -> service.catchUp != null ? service.catchUp.etaSeconds() : 0);
+    }
+
+    @PreDestroy
+    public void stopTimingWheel() {
+        timingWheel.stop();
+    }
 
     /**
-     * Periodically checks for pending schedules and processes them.
-     * This method is executed at a fixed interval (e.g., every 30 seconds).
+     * Loads the next look-ahead window of pending schedules into the timing wheel.
+     * Later loads only read the slice between the previous horizon and the new one. Schedules that are
+     * overdue by more than the reclaim grace period are left to {@link #reclaimAbandonedSchedules()},
+     * so the wheel only ever holds one window.
+     * Runs well before the loaded horizon is reached (see scheduler.wheel.load-interval-ms).
      */
-    @Scheduled(fixedRate = 30000) // Runs every 10 seconds
-    public void processPendingSchedules() {
-        log.info("Starting processPendingSchedules method.");
+    @Scheduled(fixedDelayString = "${scheduler.wheel.load-interval-ms:60000}")
+    public void loadLookAheadWindow() {
+        log.debug("Starting loadLookAheadWindow method.");
 
         try {
-            // Get current UTC time (Instant is already in UTC)
-            Instant utcInstant = Instant.now();  // This will be in UTC
-            Date utcNow = Date.from(utcInstant); // Convert Instant to Date
+            // Get current UTC time (Instant is already in UTC) and extend it by the window size
+            Instant utcInstant = Instant.now();
+            Date horizon = Date.from(utcInstant.plusMillis(windowMillis));
+            Date from = loadedHorizon != null ? loadedHorizon : Date.from(utcInstant.minusMillis(reclaimGraceMillis));
 
-            // Log in UTC without timezone conversion
-            log.info("Using current UTC time (ignoring local timezone): {}", utcInstant.toString());
+            // Publish the new horizon before reading, so schedules created meanwhile go straight into the wheel
+            loadedHorizon = horizon;
 
-            // Fetch all pending schedules
-            List<Schedule> pendingSchedules = repository.findPendingSchedules(utcNow);
+            int loaded = loadIntoWheel(partitionCoordinator.getOwnedPartitions(), from, horizon);
 
-            if (pendingSchedules.isEmpty()) {
-                log.info("No pending schedules found.");
+            metrics.recordWindowLoaded(loaded);
+            log.info("Loaded {} schedules due up to {} into the timing wheel ({} waiting).",
+                    loaded, horizon.toInstant(), timingWheel.size());
+        } catch (Exception ex) {
+            log.error("Error occurred while loading the look-ahead window: ", ex);
+        }
+    }
+
+    /**
+     * Loads the window already covered by the other partitions for partitions this node has just taken over,
+     * and drops the wheel entries of partitions it gave up.
+     *
+     * @param event The partitions acquired and released.
+     */
+    @EventListener
+    public void onPartitionsChanged(PartitionsChangedEvent event) {
+        try {
+            if (!event.getReleased().isEmpty()) {
+                int dropped = timingWheel.cancelIf(schedule -> event.getReleased().contains(schedule.getPartition()));
+                log.info("Dropped {} schedules of released partitions from the timing wheel.", dropped);
+            }
+
+            Date horizon = loadedHorizon;
+            if (!event.getAcquired().isEmpty() && horizon != null) {
+                Date from = new Date(System.currentTimeMillis() - reclaimGraceMillis);
+                int loaded = loadIntoWheel(event.getAcquired(), from, horizon);
+                log.info("Loaded {} schedules of acquired partitions into the timing wheel.", loaded);
+            }
+        } catch (Exception ex) {
+            log.error("Error occurred while applying partition changes: ", ex);
+        }
+    }
+
+    /**
+     * Streams the pending schedules of the given partitions in (from, to] into the timing wheel.
+     *
+     * @return Number of schedules loaded.
+     */
+    private int loadIntoWheel(Collection<Integer> partitions, Date from, Date to) {
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        int loaded = 0;
+        try (Stream<Schedule> upcomingSchedules = store.streamPendingSchedulesBetween(partitions, from, to)) {
+            Iterator<Schedule> iterator = upcomingSchedules.iterator();
+            while (iterator.hasNext()) {
+                timingWheel.schedule(iterator.next());
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Picks up overdue schedules without a valid lease: the backlog that built up while the service was down,
+     * schedules left behind by a crashed node, or created on a node that went down before firing them.
+     * The scan walks a cursor oldest first and only pulls the next schedule once executor capacity frees up,
+     * so heap use stays flat however large the backlog is. Claiming keeps this safe when several nodes sweep
+     * at the same time.
+     * A backlog of scheduler.catch-up.threshold or more schedules is replayed in catch-up mode, paced by a token
+     * bucket, so schedules the wheel fires meanwhile find the dispatch queue nearly empty and downstream endpoints
+     * see a steady rate instead of the whole backlog at once.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.lease.reclaim-interval-ms:30000}")
+    public void reclaimAbandonedSchedules() {
+        log.debug("Starting reclaimAbandonedSchedules method.");
+
+        try {
+            Date now = new Date();
+            Date overdueBefore = new Date(now.getTime() - reclaimGraceMillis);
+
+            Set<Integer> partitions = partitionCoordinator.getOwnedPartitions();
+            if (partitions.isEmpty()) {
                 return;
             }
 
-            log.info("Found {} pending schedules for execution.", pendingSchedules.size());
+            long backlog = store.countReclaimableSchedules(partitions, overdueBefore, now);
+            CatchUpProgress progress = backlog >= catchUpThreshold
+                    ? new CatchUpProgress(backlog, catchUpRatePerSecond)
+                    : null;
+            if (progress != null) {
+                log.info("Catching up on {} overdue schedules at {} per second, estimated {} s.",
+                        backlog, catchUpRatePerSecond, Math.round(progress.etaSeconds()));
+                catchUp = progress;
+            }
+
+            int dispatched = 0;
+            long progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(catchUpProgressIntervalMillis);
+            long progressLoggedAt = System.nanoTime();
+            try (Stream<Schedule> abandonedSchedules = store.streamReclaimableSchedules(partitions, overdueBefore, now)) {
+                Iterator<Schedule> iterator = abandonedSchedules.iterator();
+                while (iterator.hasNext()) {
+                    Schedule schedule = iterator.next();
+                    if (progress != null) {
+                        catchUpLimiter.acquire();
+                    }
 
-            // Submit each schedule for execution
-            pendingSchedules.forEach(schedule ->
-                    executorService.submit(() -> executeSchedule(schedule))
-            );
+                    if (dispatchWhenCapacityFrees(schedule)) {
+                        dispatched++;
+                    }
 
+                    if (progress != null) {
+                        progress.recordReplayed();
+                        if (System.nanoTime() - progressLoggedAt >= progressIntervalNanos) {
+                            progressLoggedAt = System.nanoTime();
+                            log.info("Catch-up progress: {} of {} overdue schedules replayed, estimated {} s remaining.",
+                                    progress.getReplayed(), progress.getBacklog(), Math.round(progress.etaSeconds()));
+                        }
+                    }
+                }
+            } finally {
+                catchUp = null;
+            }
+
+            metrics.recordBacklogDispatched(dispatched);
+            if (progress != null) {
+                log.info("Catch-up finished: replayed {} overdue schedules.", progress.getReplayed());
+            } else if (dispatched > 0) {
+                log.info("Dispatched {} overdue schedules without a valid lease.", dispatched);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
         } catch (Exception ex) {
-            log.error("Error occurred while processing pending schedules: ", ex);
+            log.error("Error occurred while reclaiming abandoned schedules: ", ex);
+        }
+    }
+
+    /**
+     * Inserts, moves or cancels the wheel entry of a schedule that has just been saved.
+     * Schedules beyond the loaded horizon are left to the window load that covers them. The schedule goes into
+     * this node's wheel whatever its partition, since the owner has already loaded the window; claiming keeps
+     * it from firing twice.
+     *
+     * @param schedule The saved schedule.
+     */
+    public void onScheduleSaved(Schedule schedule) {
+        Date horizon = loadedHorizon;
+
+        if (!schedule.isExecuted() && schedule.getStartDateTime() != null
+                && horizon != null && !schedule.getStartDateTime().after(horizon)) {
+            timingWheel.schedule(schedule);
+        } else {
+            timingWheel.cancel(schedule.getId());
+        }
+    }
+
+    /**
+     * Cancels the wheel entry of a deleted schedule.
+     *
+     * @param id The ID of the deleted schedule.
+     */
+    public void onScheduleDeleted(String id) {
+        timingWheel.cancel(id);
+    }
+
+    /**
+     * Queues a due schedule for the executor, unless it is already queued or executing on this node.
+     * Runs on the wheel's ticker thread, so it never waits: when the dispatch queue is full the schedule
+     * is deferred in the wheel instead.
+     *
+     * @param schedule The schedule that is due.
+     */
+    private void dispatch(Schedule schedule) {
+        if (!inFlightIds.add(schedule.getId())) {
+            metrics.recordDuplicateSkipped();
+            return;
+        }
+
+        if (!dispatchQueue.offer(schedule, () -> executeSchedule(schedule))) {
+            inFlightIds.remove(schedule.getId());
+            defer(schedule, System.currentTimeMillis(), "queue_full");
+        }
+    }
+
+    /**
+     * Queues an overdue schedule for the executor, unless it is already queued or executing on this node.
+     * Waits until fewer than scheduler.dispatch.max-in-flight backlog schedules are queued or awaiting their
+     * response and the dispatch queue has room, so the overdue scan stops reading while the executor is saturated.
+     *
+     * @param schedule The overdue schedule.
+     * @return false if the schedule was skipped as already in flight.
+     * @throws InterruptedException if interrupted while waiting for capacity.
+     */
+    private boolean dispatchWhenCapacityFrees(Schedule schedule) throws InterruptedException {
+        if (!inFlightIds.add(schedule.getId())) {
+            metrics.recordDuplicateSkipped();
+            return false;
+        }
+
+        boolean queued = false;
+        dispatchPermits.acquire();
+        try {
+            dispatchQueue.put(schedule, () -> executeSchedule(schedule)
+                    .whenComplete((ignored, error) -> dispatchPermits.release()));
+            queued = true;
+        } finally {
+            if (!queued) {
+                dispatchPermits.release();
+                inFlightIds.remove(schedule.getId());
+            }
         }
+        return true;
     }
 
 
     /**
-     * Executes a single schedule.
+     * Executes a single schedule once this node holds its lease.
+     * The delivery itself is asynchronous: no thread is parked while waiting for the response,
+     * and the schedule is completed on the executor once the response arrives.
+     * While the host's concurrency limit is reached or its half-open circuit awaits the trial call, the schedule
+     * waits for the host instead and stays in flight; while the circuit is open it is put back into the wheel
+     * unclaimed until the open period ends. Either way a slow or failing host never holds a worker or a lease.
      *
-     * @param schedule The schedule to execute.
+     * @param candidate The due schedule as loaded into the wheel.
+     * @return Future completed when the execution has finished, successfully or not, or started waiting.
      */
-    private void executeSchedule(Schedule schedule) {
-        log.debug("Executing schedule with ID: {}", schedule.getId());
+    private CompletableFuture<Void> executeSchedule(Schedule candidate) {
+        log.debug("Executing schedule with ID: {}", candidate.getId());
+
+        String host = hostOf(resolveTargetUrl(candidate));
+
+        // Take the circuit permission and a delivery slot before the lease, so waiting needs no write
+        if (!circuitBreaker.tryAcquire(host)) {
+            if (circuitBreaker.state(host) == HostCircuitBreaker.State.OPEN) {
+                inFlightIds.remove(candidate.getId());
+                defer(candidate, circuitBreaker.retryAt(host), "circuit_open");
+            } else {
+                waitForHost(host, candidate, "circuit_open");
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!hostLimiter.tryAcquire(host)) {
+            circuitBreaker.onCancelled(host);
+            waitForHost(host, candidate, "limit_reached");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // The host had a free slot, so the next waiting schedule may find one too
+        releaseWaiting(host);
 
+        return runExecution(candidate, host).whenComplete((ignored, error) -> inFlightIds.remove(candidate.getId()));
+    }
+
+    /**
+     * Claims and delivers a schedule, see {@link #executeSchedule(Schedule)}.
+     * The caller holds the host's circuit permission and a delivery slot, both are returned here.
+     */
+    private CompletableFuture<Void> runExecution(Schedule candidate, String host) {
         try {
-            // Log the payload (info field) as an example execution
-            log.info("Executing task with payload: {}", schedule.getInfo().toString());
+            // Atomically take the lease, so no other node fires the same schedule. The payload is only read
+            // when batched delivery sends it along; single callbacks only carry the ID
+            Date now = new Date();
+            Schedule schedule = store.claimSchedule(candidate.getId(), node.getId(), now,
+                    new Date(now.getTime() + leaseMillis), batchDelivery);
 
-            // Simulate a mock external API call or actual task execution
-            mockExternalApiCall(schedule);
+            if (schedule == null) {
+                log.debug("Schedule with ID: {} is claimed by another node or no longer due, skipping.", candidate.getId());
+                releaseUnusedSlot(host);
+                return CompletableFuture.completedFuture(null);
+            }
 
-            // Mark the schedule as executed and update it in the database
-            schedule.setExecuted(true);
-            schedule.setUpdateDate(new Date());
-            repository.save(schedule);
+            metrics.recordFireLag(schedule);
 
-            log.info("Successfully executed schedule with ID: {}", schedule.getId());
+            // For recurring schedules, work out the next occurrence and whether this one was missed
+            RecurrenceCalculator.Plan plan = RecurrenceCalculator.plan(schedule, now);
+            if (plan.isSkipDelivery()) {
+                log.info("Skipping missed occurrence of schedule with ID: {} at {}.", schedule.getId(), schedule.getStartDateTime());
+                releaseUnusedSlot(host);
+                completeSchedule(schedule, plan);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // Log the payload (info field) as an example execution
+            log.info("Executing task with payload: {}", schedule.getInfo());
+
+            // Call the external API and complete the schedule on the executor once the response arrives,
+            // so the store writes never run on the HTTP client's threads
+            long start = System.nanoTime();
+            return mockExternalApiCall(schedule)
+                    .handleAsync((result, error) -> {
+                        // Feed the outcome back into the host's limit and circuit
+                        boolean failed = (result == null || !result.isSuccessful()) && retryPolicy.isRetryable(result, error);
+                        hostLimiter.release(host, System.nanoTime() - start, failed);
+                        if (failed) {
+                            circuitBreaker.onFailure(host);
+                        } else {
+                            circuitBreaker.onSuccess(host);
+                        }
+                        releaseWaiting(host);
+
+                        if (result != null && result.isSuccessful()) {
+                            completeSchedule(schedule, plan);
+                        } else {
+                            handleFailedDelivery(schedule, result, error);
+                        }
+                        return null;
+                    }, executorService);
         } catch (Exception ex) {
             // Log any errors during schedule execution
-            log.error("Failed to execute schedule with ID: {}. Exception: ", schedule.getId(), ex);
+            log.error("Failed to execute schedule with ID: {}. Exception: ", candidate.getId(), ex);
+            releaseUnusedSlot(host);
+            return CompletableFuture.completedFuture(null);
         }
     }
 
     /**
-     * Mock external API call or any task processing logic.
+     * Puts a due schedule back into the timing wheel without claiming it. It comes back between half of
+     * scheduler.delivery.defer-ms and the full value after notBefore, so deferred schedules do not all return
+     * in the same tick.
+     * Nothing is written: if this node goes down meanwhile, the overdue scan of another node picks the schedule up.
      *
-     * @param schedule The schedule whose task is being executed.
+     * @param candidate The due schedule.
+     * @param notBefore Earliest time to try again, in epoch milliseconds.
+     * @param reason    Why the delivery is deferred, for metrics.
      */
-    public void mockExternalApiCall(Schedule schedule) {
-        // Simulate an external API call for schedule with ID
-        log.info("Simulating external API call for schedule with ID: {}", schedule.getId());
+    private void defer(Schedule candidate, long notBefore, String reason) {
+        long deadline = notBefore + deferMillis / 2 + ThreadLocalRandom.current().nextLong(deferMillis / 2 + 1);
+        timingWheel.schedule(candidate, deadline);
+        metrics.recordDeferral(reason);
+        log.debug("Deferred schedule with ID: {} until {} ({}).", candidate.getId(), Instant.ofEpochMilli(deadline), reason);
+    }
 
-        // Build the URL with the schedule ID as a query parameter
-        String url = UriComponentsBuilder.fromHttpUrl(externalApiUrl)
-                .queryParam("id", schedule.getId())
-                .toUriString();
+    /**
+     * Returns the circuit permission and delivery slot of an execution that made no call.
+     *
+     * @param host The destination host.
+     */
+    private void releaseUnusedSlot(String host) {
+        hostLimiter.release(host);
+        circuitBreaker.onCancelled(host);
+        releaseWaiting(host);
+    }
 
-        // Create a RestTemplate instance
-        RestTemplate restTemplate = new RestTemplate();
+    /**
+     * Lets a due schedule wait until its host returns a delivery slot or its circuit settles.
+     * The schedule stays in flight, so neither the wheel nor the overdue scan queues it again meanwhile.
+     *
+     * @param host      The destination host.
+     * @param candidate The due schedule.
+     * @param reason    Why the delivery waits, for metrics.
+     */
+    private void waitForHost(String host, Schedule candidate, String reason) {
+        hostWaitQueue.add(host, candidate);
+        metrics.recordDeferral(reason);
+        log.debug("Schedule with ID: {} waits for host {} ({}).", candidate.getId(), host, reason);
 
-        // Prepare the request entity (no body needed for this case)
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Content-Type", "application/json");
+        // The last delivery may have returned its slot before the schedule was added
+        if (hostLimiter.inFlight(host) == 0) {
+            releaseWaiting(host);
+        }
+    }
 
-        HttpEntity<String> requestEntity = new HttpEntity<>(headers);
+    /**
+     * Called whenever the host returns a delivery slot or its circuit changes. Queues the schedule that has
+     * waited longest for the host; it either takes the free slot or waits again. Once the circuit has opened,
+     * every waiting schedule goes back into the wheel until the open period ends.
+     *
+     * @param host The destination host.
+     */
+    private void releaseWaiting(String host) {
+        if (circuitBreaker.state(host) == HostCircuitBreaker.State.OPEN) {
+            for (Schedule waiting : hostWaitQueue.drain(host)) {
+                inFlightIds.remove(waiting.getId());
+                defer(waiting, circuitBreaker.retryAt(host), "circuit_open");
+            }
+            return;
+        }
 
+        Schedule next = hostWaitQueue.poll(host);
+        if (next != null && !dispatchQueue.offer(next, () -> executeSchedule(next))) {
+            inFlightIds.remove(next.getId());
+            defer(next, System.currentTimeMillis(), "queue_full");
+        }
+    }
+
+    /**
+     * Queues the write-back that releases the lease of a delivered schedule and either marks it executed
+     * or, for recurring schedules, advances it to its next occurrence on the same document.
+     *
+     * @param schedule The delivered schedule.
+     * @param plan     The recurrence plan of the delivered occurrence.
+     */
+    private void completeSchedule(Schedule schedule, RecurrenceCalculator.Plan plan) {
+        writeBuffer.add(new ScheduleCompletion(schedule.getId(), node.getId(), new Date(),
+                schedule.getStartDateTime(), plan.getNextStartDateTime(), plan.getSeriesStartDateTime(), 0, null));
+
+        if (plan.getNextStartDateTime() != null) {
+            // Put the next occurrence into the wheel if it already falls within the loaded window
+            schedule.setStartDateTime(plan.getNextStartDateTime());
+            schedule.setSeriesStartDateTime(plan.getSeriesStartDateTime());
+            schedule.setLeaseOwner(null);
+            schedule.setLeaseExpiry(null);
+            schedule.setAttemptCount(0);
+            schedule.setNextAttemptDateTime(null);
+            onScheduleSaved(schedule);
+
+            log.info("Schedule with ID: {} advanced to its next occurrence at {}.", schedule.getId(), plan.getNextStartDateTime());
+            return;
+        }
+
+        log.info("Successfully executed schedule with ID: {}", schedule.getId());
+    }
+
+    /**
+     * Queues a delayed retry of a failed delivery, or moves the schedule to the dead-letter collection once the
+     * failure is permanent or the last attempt has failed.
+     * A retry is only a write-back plus a wheel entry at the next attempt time; no worker waits out the backoff.
+     * The lease is kept until the retry is due, so the retry normally runs on this node, and the overdue scan of
+     * any node takes it over if this one goes down.
+     *
+     * @param schedule The schedule whose delivery failed.
+     * @param result   The delivery result, null if no response arrived.
+     * @param error    The delivery error, null if a response arrived.
+     */
+    private void handleFailedDelivery(Schedule schedule, DeliveryResult result, Throwable error) {
+        int attempts = schedule.getAttemptCount() + 1;
+
+        if (retryPolicy.isRetryable(result, error) && retryPolicy.hasAttemptsLeft(attempts)) {
+            Date now = new Date();
+            Date nextAttempt = retryPolicy.nextAttemptAt(attempts, now);
+            writeBuffer.add(new ScheduleCompletion(schedule.getId(), node.getId(), now,
+                    schedule.getStartDateTime(), null, null, attempts, nextAttempt));
+
+            schedule.setAttemptCount(attempts);
+            schedule.setNextAttemptDateTime(nextAttempt);
+            schedule.setLeaseExpiry(nextAttempt);
+            timingWheel.schedule(schedule);
+
+            metrics.recordRetry();
+            log.warn("Delivery of schedule with ID: {} failed (attempt {}), retrying at {}.",
+                    schedule.getId(), attempts, nextAttempt.toInstant());
+            return;
+        }
+
+        // Moving the schedule takes two Mongo writes, keep them off the HTTP client's threads
+        executorService.submit(() -> moveToDeadLetter(schedule, attempts, result, error));
+    }
+
+    /**
+     * Moves a schedule whose delivery failed for good to the dead-letter collection. Recurring schedules move as
+     * a whole, so the series stops until it is replayed.
+     *
+     * @param schedule The schedule whose last attempt failed.
+     * @param attempts Number of failed attempts.
+     * @param result   The last delivery result, null if no response arrived.
+     * @param error    The last delivery error, null if a response arrived.
+     */
+    private void moveToDeadLetter(Schedule schedule, int attempts, DeliveryResult result, Throwable error) {
         try {
-            // Use POST method with the URL containing the query parameter
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, requestEntity, String.class);
+            // The dispatcher only holds the dispatch projection, keep the whole schedule for the replay
+            schedule = store.findById(schedule.getId()).orElse(schedule);
+            schedule.setAttemptCount(attempts);
+            schedule.setNextAttemptDateTime(null);
+            deadLetterStore.save(new DeadLetter(schedule.getId(), schedule, attempts,
+                    result != null ? result.getStatusCode() : null,
+                    error != null ? error.getMessage() : null, new Date()));
+
+            if (!store.deleteClaimedSchedule(schedule.getId(), node.getId())) {
+                // The lease was lost or the schedule deleted meanwhile, so it is no longer ours to move
+                deadLetterStore.deleteById(schedule.getId());
+                log.warn("Schedule with ID: {} is no longer leased by this node, not moved to the dead-letter collection.",
+                        schedule.getId());
+                return;
+            }
 
-            // Log the response (or handle as needed)
-            log.info("Response from external API: {}", response.getStatusCode());
-        } catch (Exception e) {
-            log.error("Error while calling external API: {}", e.getMessage());
+            cache.invalidate(schedule.getId());
+            metrics.recordDeadLetter();
+            log.error("Delivery of schedule with ID: {} failed after {} attempts, moved to the dead-letter collection.",
+                    schedule.getId(), attempts);
+        } catch (Exception ex) {
+            // The lease expires and the overdue scan tries the schedule again
+            log.error("Failed to move schedule with ID: {} to the dead-letter collection. Exception: ", schedule.getId(), ex);
         }
     }
+
+    /**
+     * Resolves the endpoint notified for a schedule.
+     *
+     * @param schedule The schedule being executed.
+     * @return The schedule's callback URL, or the configured external API URL if it has none.
+     */
+    private String resolveTargetUrl(Schedule schedule) {
+        return StringUtils.hasText(schedule.getCallbackUrl()) ? schedule.getCallbackUrl() : externalApiUrl;
+    }
+
+    /**
+     * @param url The endpoint URL.
+     * @return The host of the URL, or the URL itself if it cannot be parsed.
+     */
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException ex) {
+            return url;
+        }
+    }
+
+    /**
+     * Mock external API call or any task processing logic.
+     * Delivery failures are logged and reported through the returned future's result, never thrown.
+     *
+     * @param schedule The schedule whose task is being executed.
+     * @return Future completed with the delivery result once the response arrives.
+     */
+    public CompletableFuture<DeliveryResult> mockExternalApiCall(Schedule schedule) {
+        // Simulate an external API call for schedule with ID
+        log.info("Simulating external API call for schedule with ID: {}", schedule.getId());
+
+        // POST to the target with the schedule ID as a query parameter over the shared client,
+        // or as one item of the target's next batch
+        long start = System.nanoTime();
+        CompletableFuture<DeliveryResult> delivery = batchDelivery
+                ? deliveryBatcher.submit(resolveTargetUrl(schedule), schedule)
+                : deliveryClient.post(resolveTargetUrl(schedule), schedule.getId());
+        return delivery
+                .whenComplete((result, error) -> {
+                    metrics.recordDelivery(result != null ? result.getStatusCode() : null, System.nanoTime() - start);
+
+                    if (error != null) {
+                        log.error("Error while calling external API: {}", error.getMessage());
+                    } else {
+                        // Log the response (or handle as needed)
+                        log.info("Response from external API: {}", result.getStatusCode());
+                    }
+                });
+    }
 }
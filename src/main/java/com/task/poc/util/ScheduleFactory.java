@@ -0,0 +1,61 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Creates new schedules from API requests, shared by the servlet and the reactive API.
+ */
+@Component
+public class ScheduleFactory {
+
+    @Autowired
+    private ScheduleMapper mapper;
+
+    @Autowired
+    private SchedulePartitioner partitioner;
+
+    /**
+     * Creates a new schedule entity from a request DTO, with a fresh ID and creation dates.
+     *
+     * @param request ScheduleRequestDTO containing schedule data
+     * @return The new, unsaved schedule
+     */
+    public Schedule newSchedule(ScheduleRequestDTO request) {
+        Schedule schedule = mapper.toSchedule(request);
+
+        // Generate a unique ID for the schedule and derive its partition from it
+        schedule.setId(UUID.randomUUID().toString());
+        schedule.setPartition(partitioner.partitionOf(schedule.getId()));
+        // set trigger date time
+        schedule.setStartDateTime(request.getStartDateTime());
+        // Set current date as creation date
+        schedule.setCreateDate(new Date());
+        // Set the current date as the last update date
+        schedule.setUpdateDate(new Date());
+        return schedule;
+    }
+
+    /**
+     * @param request A record of a bulk import
+     * @return The reason the record is rejected, or null if it is valid
+     */
+    public String validateImportRecord(ScheduleRequestDTO request) {
+        if (request == null) {
+            return "Record is empty.";
+        }
+        if (!StringUtils.hasText(request.getName())) {
+            return "name is required.";
+        }
+        if (request.getStartDateTime() == null) {
+            return "startDateTime is required.";
+        }
+        return null;
+    }
+}
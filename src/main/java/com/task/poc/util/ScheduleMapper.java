@@ -0,0 +1,139 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.DeadLetter;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.DeadLetterDTO;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Hand-written conversions between Schedule and its DTOs.
+ * Field for field equivalent to the strict ModelMapper configuration it replaces,
+ * without reflection or intermediate objects on the hot listing path.
+ */
+@Component
+public class ScheduleMapper {
+
+    /**
+     * Maps a request to a new, unsaved schedule. ID and dates are left for the caller to set.
+     *
+     * @param request The create request.
+     * @return The new schedule.
+     */
+    public Schedule toSchedule(ScheduleRequestDTO request) {
+        Schedule schedule = new Schedule();
+        updateSchedule(request, schedule);
+        return schedule;
+    }
+
+    /**
+     * Copies the request fields into an existing schedule.
+     * Only the fields a request carries (name, startDateTime, callbackUrl and info) are written, null values
+     * included; id, dates, execution state and lease are left untouched. Info is copied into the existing
+     * info object when there is one.
+     *
+     * @param request  The update request.
+     * @param schedule The schedule to update.
+     */
+    public void updateSchedule(ScheduleRequestDTO request, Schedule schedule) {
+        schedule.setName(request.getName());
+        schedule.setStartDateTime(request.getStartDateTime());
+        schedule.setCallbackUrl(request.getCallbackUrl());
+
+        if (request.getInfo() == null) {
+            schedule.setInfo(null);
+        } else if (schedule.getInfo() == null) {
+            schedule.setInfo(copyInfo(request.getInfo(), new ScheduleInfoDTO()));
+        } else {
+            copyInfo(request.getInfo(), schedule.getInfo());
+        }
+    }
+
+    /**
+     * Maps a schedule to its API representation. The info object is shared, not copied.
+     *
+     * @param schedule The schedule to map.
+     * @return The schedule DTO.
+     */
+    public ScheduleDTO toDto(Schedule schedule) {
+        ScheduleDTO scheduleDTO = new ScheduleDTO();
+        scheduleDTO.setId(schedule.getId());
+        scheduleDTO.setName(schedule.getName());
+        scheduleDTO.setStartDateTime(schedule.getStartDateTime());
+        scheduleDTO.setCreateDate(schedule.getCreateDate());
+        scheduleDTO.setUpdateDate(schedule.getUpdateDate());
+        scheduleDTO.setInfo(schedule.getInfo());
+        scheduleDTO.setExecuted(schedule.isExecuted());
+        scheduleDTO.setCallbackUrl(schedule.getCallbackUrl());
+        scheduleDTO.setAttemptCount(schedule.getAttemptCount());
+        scheduleDTO.setNextAttemptDateTime(schedule.getNextAttemptDateTime());
+        return scheduleDTO;
+    }
+
+    /**
+     * Maps a projected schedule to its API representation, leaving out the fields that were not requested.
+     * Unread fields of the schedule hold their defaults, e.g. 0 attempts, and must not show up as values.
+     *
+     * @param schedule The schedule to map, read with the given projection.
+     * @param fields   The requested fields, or null or empty for all of them. The ID is always kept.
+     * @return The schedule DTO.
+     */
+    public ScheduleDTO toDto(Schedule schedule, Set<String> fields) {
+        ScheduleDTO scheduleDTO = toDto(schedule);
+        if (fields == null || fields.isEmpty()) {
+            return scheduleDTO;
+        }
+
+        scheduleDTO.setName(fields.contains("name") ? scheduleDTO.getName() : null);
+        scheduleDTO.setStartDateTime(fields.contains("startDateTime") ? scheduleDTO.getStartDateTime() : null);
+        scheduleDTO.setCreateDate(fields.contains("createDate") ? scheduleDTO.getCreateDate() : null);
+        scheduleDTO.setUpdateDate(fields.contains("updateDate") ? scheduleDTO.getUpdateDate() : null);
+        scheduleDTO.setInfo(fields.contains("info") ? scheduleDTO.getInfo() : null);
+        scheduleDTO.setExecuted(fields.contains("executed") ? scheduleDTO.getExecuted() : null);
+        scheduleDTO.setCallbackUrl(fields.contains("callbackUrl") ? scheduleDTO.getCallbackUrl() : null);
+        scheduleDTO.setAttemptCount(fields.contains("attemptCount") ? scheduleDTO.getAttemptCount() : null);
+        scheduleDTO.setNextAttemptDateTime(fields.contains("nextAttemptDateTime")
+                ? scheduleDTO.getNextAttemptDateTime() : null);
+        return scheduleDTO;
+    }
+
+    /**
+     * Maps a dead letter to its API representation.
+     *
+     * @param deadLetter The dead letter to map.
+     * @return The dead letter DTO.
+     */
+    public DeadLetterDTO toDto(DeadLetter deadLetter) {
+        DeadLetterDTO deadLetterDTO = new DeadLetterDTO();
+        deadLetterDTO.setId(deadLetter.getId());
+        deadLetterDTO.setSchedule(deadLetter.getSchedule() != null ? toDto(deadLetter.getSchedule()) : null);
+        deadLetterDTO.setAttempts(deadLetter.getAttempts());
+        deadLetterDTO.setLastStatusCode(deadLetter.getLastStatusCode());
+        deadLetterDTO.setLastError(deadLetter.getLastError());
+        deadLetterDTO.setDeadLetterDate(deadLetter.getDeadLetterDate());
+        return deadLetterDTO;
+    }
+
+    /**
+     * Copies every info field from source to target, attendees into a new list.
+     *
+     * @return The target.
+     */
+    private static ScheduleInfoDTO copyInfo(ScheduleInfoDTO source, ScheduleInfoDTO target) {
+        target.setLocation(source.getLocation());
+        target.setCategory(source.getCategory());
+        target.setPriority(source.getPriority());
+        target.setAttendees(source.getAttendees() != null ? new ArrayList<>(source.getAttendees()) : null);
+        target.setRecurring(source.isRecurring());
+        target.setRecurrencePattern(source.getRecurrencePattern());
+        target.setNotes(source.getNotes());
+        target.setTimeZone(source.getTimeZone());
+        target.setMissedOccurrencePolicy(source.getMissedOccurrencePolicy());
+        return target;
+    }
+}
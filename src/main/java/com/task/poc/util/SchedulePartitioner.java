@@ -0,0 +1,39 @@
+package com.task.poc.util;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps schedule IDs onto the fixed set of partitions that nodes take ownership of.
+ * The mapping only depends on the ID and the partition count, so it is the same on every node.
+ * Changing scheduler.partitions.count re-partitions existing schedules at the next startup.
+ */
+@Component
+@Getter
+public class SchedulePartitioner {
+
+    private final int partitionCount;
+
+    public SchedulePartitioner(@Value("${scheduler.partitions.count:64}") int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("scheduler.partitions.count must be greater than 0");
+        }
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * @param id The schedule ID.
+     * @return The partition of the schedule, between 0 and partitionCount - 1.
+     */
+    public int partitionOf(String id) {
+        // Spread String.hashCode over all bits (MurmurHash3 finalizer) before taking the modulus
+        int hash = id.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, partitionCount);
+    }
+}
@@ -0,0 +1,233 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timing wheel holding the schedules of the current look-ahead window in memory.
+ * Every schedule is placed in the bucket of the tick that covers its due time (startDateTime, or the
+ * next attempt of a failed delivery if that is later) and is
+ * handed to the expiry callback by a single ticker thread within one tick of being due.
+ * Schedules are keyed by ID, so scheduling an ID again moves it instead of duplicating it.
+ */
+@Log4j2
+public class ScheduleTimingWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<Entry>> buckets;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Consumer<Schedule> onExpiry;
+    private final Object lock = new Object();
+
+    private long currentTick;  // Last tick processed by the ticker thread
+    private volatile boolean running;
+    private Thread ticker;
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param tickMillis Duration of one tick in milliseconds (the firing precision)
+     * @param wheelSize  Number of buckets, rounded up to a power of two
+     * @param onExpiry   Callback invoked on the ticker thread for every due schedule
+     */
+    public ScheduleTimingWheel(long tickMillis, int wheelSize, Consumer<Schedule> onExpiry) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be greater than 0");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.onExpiry = onExpiry;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new HashSet<>());
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+    }
+
+    /**
+     * Starts the ticker thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        ticker = new Thread(this::run, "schedule-timing-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Stops the ticker thread. Schedules still in the wheel are not fired.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Inserts a schedule, or moves it if a schedule with the same ID is already in the wheel.
+     * Schedules that are already due fire on the next tick.
+     *
+     * @param schedule The schedule to insert
+     */
+    public void schedule(Schedule schedule) {
+        long deadline = schedule.getStartDateTime().getTime();
+        if (schedule.getNextAttemptDateTime() != null) {
+            deadline = Math.max(deadline, schedule.getNextAttemptDateTime().getTime());
+        }
+        schedule(schedule, deadline);
+    }
+
+    /**
+     * Inserts a schedule to fire at the given time instead of its due time, or moves it if a schedule with the
+     * same ID is already in the wheel.
+     *
+     * @param schedule The schedule to insert
+     * @param deadline When to fire the schedule, in epoch milliseconds
+     */
+    public void schedule(Schedule schedule, long deadline) {
+        synchronized (lock) {
+            removeEntry(schedule.getId());
+
+            // Round up so the bucket is never processed before the deadline has passed
+            long tick = Math.max((deadline + tickMillis - 1) / tickMillis, currentTick + 1);
+            Entry entry = new Entry(schedule, deadline, (int) (tick & mask));
+            buckets.get(entry.bucket).add(entry);
+            entries.put(schedule.getId(), entry);
+        }
+    }
+
+    /**
+     * Removes a schedule from the wheel.
+     *
+     * @param id The ID of the schedule to remove
+     * @return true if the schedule was in the wheel
+     */
+    public boolean cancel(String id) {
+        synchronized (lock) {
+            return removeEntry(id);
+        }
+    }
+
+    /**
+     * Removes every schedule matching the predicate from the wheel.
+     *
+     * @param predicate Selects the schedules to remove
+     * @return Number of schedules removed
+     */
+    public int cancelIf(Predicate<Schedule> predicate) {
+        synchronized (lock) {
+            List<String> ids = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                if (predicate.test(entry.schedule)) {
+                    ids.add(entry.schedule.getId());
+                }
+            }
+            ids.forEach(this::removeEntry);
+            return ids.size();
+        }
+    }
+
+    /**
+     * @param id The ID of the schedule to look up
+     * @return true if the schedule is currently waiting in the wheel
+     */
+    public boolean contains(String id) {
+        synchronized (lock) {
+            return entries.containsKey(id);
+        }
+    }
+
+    /**
+     * @return Number of schedules currently waiting in the wheel
+     */
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    private boolean removeEntry(String id) {
+        Entry existing = entries.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        buckets.get(existing.bucket).remove(existing);
+        return true;
+    }
+
+    /**
+     * Ticker loop: collects the due entries of every elapsed tick and fires them outside the lock.
+     */
+    private void run() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            long nowTick = now / tickMillis;
+            List<Schedule> expired = new ArrayList<>();
+
+            synchronized (lock) {
+                // After a long pause one full revolution covers every bucket
+                long from = Math.max(currentTick + 1, nowTick - mask);
+                for (long tick = from; tick <= nowTick; tick++) {
+                    Iterator<Entry> iterator = buckets.get((int) (tick & mask)).iterator();
+                    while (iterator.hasNext()) {
+                        Entry entry = iterator.next();
+                        if (entry.deadline <= now) {
+                            iterator.remove();
+                            entries.remove(entry.schedule.getId());
+                            expired.add(entry.schedule);
+                        }
+                    }
+                }
+                currentTick = Math.max(currentTick, nowTick);
+            }
+
+            for (Schedule schedule : expired) {
+                try {
+                    onExpiry.accept(schedule);
+                } catch (Exception ex) {
+                    log.error("Failed to hand over expired schedule with ID: {}. Exception: ", schedule.getId(), ex);
+                }
+            }
+
+            try {
+                long sleep = (nowTick + 1) * tickMillis - System.currentTimeMillis();
+                if (sleep > 0) {
+                    TimeUnit.MILLISECONDS.sleep(sleep);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Schedule schedule;
+        private final long deadline;
+        private final int bucket;
+
+        private Entry(Schedule schedule, long deadline, int bucket) {
+            this.schedule = schedule;
+            this.deadline = deadline;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.database.Schedule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Scheduler instrumentation exposed through Micrometer (and the Actuator Prometheus endpoint).
+ * Meters are created once and cached, so recording on the hot path is a lookup plus an atomic update.
+ * Per-host gauges are tagged with the first scheduler.metrics.max-host-tags callback hosts only; later hosts
+ * are summed under host=other, so arbitrary callback URLs cannot grow the number of series without bound.
+ */
+@Component
+public class SchedulerMetrics {
+
+    private static final String OTHER_HOST = "other";
+
+    private final MeterRegistry registry;
+    private final Timer fireLag;
+    private final DistributionSummary windowLoaded;
+    private final DistributionSummary backlogDispatched;
+    private final DistributionSummary deliveryBatchSize;
+    private final Map<String, Timer> deliveryTimers = new ConcurrentHashMap<>();
+    private final Counter retries;
+    private final Counter deadLetters;
+    private final Counter duplicatesSkipped;
+    private final Counter archived;
+    private final Map<String, Counter> deferrals = new ConcurrentHashMap<>();
+    private final Map<Priority, Timer> queueWaitTimers = new EnumMap<>(Priority.class);
+    private final int maxHostTags;
+    private final Set<String> taggedHosts = new HashSet<>();
+    private final Map<String, Collection<DoubleSupplier>> otherHostGauges = new HashMap<>();
+
+    public SchedulerMetrics(MeterRegistry registry) {
+        this(registry, 100);
+    }
+
+    @Autowired
+    public SchedulerMetrics(MeterRegistry registry, @Value("${scheduler.metrics.max-host-tags:100}") int maxHostTags) {
+        this.registry = registry;
+        this.maxHostTags = maxHostTags;
+        this.fireLag = Timer.builder("scheduler.fire.lag")
+                .description("Time between a schedule's startDateTime and its actual execution")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.windowLoaded = DistributionSummary.builder("scheduler.window.loaded")
+                .description("Schedules loaded into the timing wheel per window load")
+                .register(registry);
+        this.backlogDispatched = DistributionSummary.builder("scheduler.backlog.dispatched")
+                .description("Overdue schedules dispatched per overdue scan")
+                .register(registry);
+        this.deliveryBatchSize = DistributionSummary.builder("scheduler.delivery.batch.size")
+                .description("Schedules coalesced per batched callback")
+                .register(registry);
+        this.retries = Counter.builder("scheduler.delivery.retries")
+                .description("Failed deliveries queued for a delayed retry")
+                .register(registry);
+        this.deadLetters = Counter.builder("scheduler.delivery.dead.letters")
+                .description("Schedules moved to the dead-letter collection after their last failed attempt")
+                .register(registry);
+        this.duplicatesSkipped = Counter.builder("scheduler.dispatch.duplicates.skipped")
+                .description("Due schedules not queued because they were already queued or executing")
+                .register(registry);
+        this.archived = Counter.builder("scheduler.archive.archived")
+                .description("Executed schedules moved to the schedule history")
+                .register(registry);
+        for (Priority priority : Priority.values()) {
+            queueWaitTimers.put(priority, Timer.builder("scheduler.queue.wait")
+                    .description("Time due schedules wait in the dispatch queue, by priority")
+                    .tag("priority", priority.name())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Records how late a schedule is executed.
+     *
+     * @param schedule The schedule being executed.
+     */
+    public void recordFireLag(Schedule schedule) {
+        if (schedule.getStartDateTime() != null) {
+            long lagMillis = System.currentTimeMillis() - schedule.getStartDateTime().getTime();
+            fireLag.record(Math.max(lagMillis, 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param count Number of schedules loaded by one window load.
+     */
+    public void recordWindowLoaded(int count) {
+        windowLoaded.record(count);
+    }
+
+    /**
+     * @param count Number of overdue schedules dispatched by one overdue scan.
+     */
+    public void recordBacklogDispatched(int count) {
+        backlogDispatched.record(count);
+    }
+
+    /**
+     * @param size Number of schedules sent in one batched callback.
+     */
+    public void recordDeliveryBatch(int size) {
+        deliveryBatchSize.record(size);
+    }
+
+    /**
+     * Records the latency of a callback delivery, tagged by HTTP status ("error" when no response arrived).
+     *
+     * @param status       The HTTP status code, or null on connection errors and timeouts.
+     * @param latencyNanos Time from sending the request until the response or failure.
+     */
+    public void recordDelivery(Integer status, long latencyNanos) {
+        String statusTag = status != null ? status.toString() : "error";
+        deliveryTimers.computeIfAbsent(statusTag, tag -> Timer.builder("scheduler.delivery")
+                        .description("Callback delivery latency by HTTP status")
+                        .tag("status", tag)
+                        .tag("outcome", outcome(status))
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how long a due schedule waited in the dispatch queue.
+     *
+     * @param priority  The schedule's priority.
+     * @param waitNanos Time from queueing until it was handed to the executor.
+     */
+    public void recordQueueWait(Priority priority, long waitNanos) {
+        queueWaitTimers.get(priority).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a due schedule that was already queued or executing and therefore skipped.
+     */
+    public void recordDuplicateSkipped() {
+        duplicatesSkipped.increment();
+    }
+
+    /**
+     * Counts a failed delivery that is retried later.
+     */
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * Counts a schedule moved to the dead-letter collection.
+     */
+    public void recordDeadLetter() {
+        deadLetters.increment();
+    }
+
+    /**
+     * Counts executed schedules moved to the schedule history.
+     *
+     * @param count Number of schedules archived.
+     */
+    public void recordArchived(int count) {
+        archived.increment(count);
+    }
+
+    /**
+     * Counts a due schedule that was put back into the timing wheel instead of being delivered.
+     *
+     * @param reason Why the delivery was deferred.
+     */
+    public void recordDeferral(String reason) {
+        deferrals.computeIfAbsent(reason, tag -> Counter.builder("scheduler.delivery.deferred")
+                        .description("Due schedules deferred instead of delivered")
+                        .tag("reason", tag)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Registers a gauge sampling the given object when metrics are scraped.
+     */
+    public <T> void gauge(String name, String description, T object, ToDoubleFunction<T> value) {
+        gauge(name, description, Tags.empty(), object, value);
+    }
+
+    /**
+     * Registers a tagged gauge sampling the given object when metrics are scraped.
+     */
+    public <T> void gauge(String name, String description, Tags tags, T object, ToDoubleFunction<T> value) {
+        Gauge.builder(name, object, value).description(description).tags(tags).register(registry);
+    }
+
+    /**
+     * Registers a gauge of a delivery host. The first scheduler.metrics.max-host-tags hosts get their own series,
+     * tagged with the host; the gauges of later hosts are summed into one series tagged host=other.
+     *
+     * @param host The destination host the sampled object belongs to.
+     */
+    public synchronized <T> void hostGauge(String name, String description, String host, T object,
+                                           ToDoubleFunction<T> value) {
+        if (taggedHosts.contains(host) || taggedHosts.size() < maxHostTags) {
+            taggedHosts.add(host);
+            gauge(name, description, Tags.of("host", host), object, value);
+            return;
+        }
+
+        otherHostGauges.computeIfAbsent(name, key -> {
+            Collection<DoubleSupplier> samples = new ConcurrentLinkedQueue<>();
+            gauge(key, description, Tags.of("host", OTHER_HOST), samples,
+                    all -> all.stream().mapToDouble(DoubleSupplier::getAsDouble).sum());
+            return samples;
+        }).add(() -> value.applyAsDouble(object));
+    }
+
+    private static String outcome(Integer status) {
+        if (status == null) {
+            return "ERROR";
+        }
+        if (status >= 200 && status < 300) {
+            return "SUCCESS";
+        }
+        return status >= 400 && status < 500 ? "CLIENT_ERROR" : status >= 500 ? "SERVER_ERROR" : "OTHER";
+    }
+}
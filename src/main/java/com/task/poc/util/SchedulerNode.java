@@ -0,0 +1,40 @@
+package com.task.poc.util;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identity of this scheduler instance within a cluster of nodes sharing one database.
+ * Used as the owner of execution leases.
+ */
+@Component
+@Log4j2
+@Getter
+public class SchedulerNode {
+
+    private final String id;
+
+    public SchedulerNode(@Value("${scheduler.node-id:}") String configuredId) {
+        this.id = StringUtils.hasText(configuredId) ? configuredId : generateId();
+        log.info("Scheduler node ID: {}", id);
+    }
+
+    /**
+     * Generates a node ID from the host name plus a random suffix, so restarts never reuse a lease owner.
+     */
+    private static String generateId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,243 @@
+package com.task.poc.controller;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleImportResultDTO;
+import com.task.poc.models.schedule.ScheduleListDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import com.task.poc.repository.ReactiveSchedulerRepository;
+import com.task.poc.repository.ScheduleCache;
+import com.task.poc.repository.ScheduleStore;
+import com.task.poc.service.ReactiveSchedulerServiceImpl;
+import com.task.poc.util.ScheduleExecutionService;
+import com.task.poc.util.ScheduleFactory;
+import com.task.poc.util.ScheduleMapper;
+import com.task.poc.util.SchedulePartitioner;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveScheduler.class)
+@ActiveProfiles("reactive")
+@Import({ReactiveSchedulerServiceImpl.class, ScheduleFactory.class, ScheduleMapper.class, SchedulePartitioner.class})
+class ReactiveSchedulerTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@MockitoBean
+	private ReactiveSchedulerRepository repository;
+
+	@MockitoBean
+	private ScheduleStore store;
+
+	@MockitoBean
+	private ScheduleCache cache;
+
+	@MockitoBean
+	private ScheduleExecutionService executionService;
+
+	@Test
+	void createdScheduleCanBeFetched() {
+		when(repository.save(any(Schedule.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+		ScheduleDTO created = client.post().uri("/api/scheduler")
+				.bodyValue(new ScheduleRequestDTO("standup", new Date(60_000), null, "http://localhost/callback"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(ScheduleDTO.class).returnResult().getResponseBody();
+
+		ArgumentCaptor<Schedule> saved = ArgumentCaptor.forClass(Schedule.class);
+		verify(repository).save(saved.capture());
+		assertThat(created.getId()).isNotNull().isEqualTo(saved.getValue().getId());
+		verify(executionService).onScheduleSaved(saved.getValue());
+
+		when(repository.findById(created.getId())).thenReturn(Mono.just(saved.getValue()));
+		when(repository.findArchivedById(created.getId())).thenReturn(Mono.empty());
+		client.get().uri("/api/scheduler/{id}", created.getId())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.name").isEqualTo("standup");
+	}
+
+	@Test
+	void unknownScheduleIsNotFound() {
+		when(repository.findById(anyString())).thenReturn(Mono.empty());
+		when(repository.findArchivedById(anyString())).thenReturn(Mono.empty());
+		when(repository.updateRequestFields(any(), any())).thenReturn(Mono.empty());
+		when(repository.existsById(anyString())).thenReturn(Mono.just(false));
+
+		client.get().uri("/api/scheduler/{id}", "missing").exchange().expectStatus().isNotFound();
+		client.put().uri("/api/scheduler/{id}", "missing")
+				.bodyValue(new ScheduleRequestDTO("standup", new Date(60_000), null, null))
+				.exchange().expectStatus().isNotFound();
+		client.delete().uri("/api/scheduler/{id}", "missing").exchange().expectStatus().isNotFound();
+	}
+
+	@Test
+	void updateWritesTheRequestFields() {
+		Schedule updated = schedule("a", 2_000);
+		updated.setName("renamed");
+		when(repository.updateRequestFields(any(), any())).thenReturn(Mono.just(updated));
+		when(repository.existsById("a")).thenReturn(Mono.just(true));
+
+		client.put().uri("/api/scheduler/{id}", "a")
+				.bodyValue(new ScheduleRequestDTO("renamed", new Date(2_000), null, null))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.name").isEqualTo("renamed");
+
+		verify(repository).updateRequestFields(argThat(changes -> "a".equals(changes.getId())
+				&& "renamed".equals(changes.getName())), any(Date.class));
+		verify(cache).put(updated);
+	}
+
+	@Test
+	void updateOfLeasedScheduleConflicts() {
+		when(repository.updateRequestFields(any(), any())).thenReturn(Mono.empty());
+		when(repository.existsById("a")).thenReturn(Mono.just(true));
+
+		client.put().uri("/api/scheduler/{id}", "a")
+				.bodyValue(new ScheduleRequestDTO("renamed", new Date(2_000), null, null))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.CONFLICT);
+	}
+
+	@Test
+	void deleteRemovesLiveAndArchivedSchedule() {
+		when(repository.findById("a")).thenReturn(Mono.just(schedule("a", 1_000)));
+		when(repository.findArchivedById("a")).thenReturn(Mono.empty());
+		when(repository.deleteById("a")).thenReturn(Mono.empty());
+		when(repository.deleteArchivedById("a")).thenReturn(Mono.just(false));
+
+		client.delete().uri("/api/scheduler/{id}", "a").exchange().expectStatus().isNoContent();
+
+		verify(repository).deleteById("a");
+		verify(repository).deleteArchivedById("a");
+		verify(cache).invalidate("a");
+		verify(executionService).onScheduleDeleted("a");
+	}
+
+	@Test
+	void pagesFollowTheCursor() {
+		when(repository.findPageAfter(isNull(), eq(2))).thenReturn(Flux.just(schedule("a", 1_000), schedule("b", 2_000)));
+		when(repository.findPageAfter(argThat(after -> after != null && "b".equals(after.getId())
+				&& after.getStartDateTime().getTime() == 2_000), eq(2))).thenReturn(Flux.just(schedule("c", 3_000)));
+
+		ScheduleListDTO first = client.get().uri("/api/scheduler?limit=2")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(ScheduleListDTO.class).returnResult().getResponseBody();
+		assertThat(first.getScheduleDTOList()).extracting(ScheduleDTO::getId).containsExactly("a", "b");
+		assertThat(first.getNextCursor()).isNotNull();
+
+		ScheduleListDTO second = client.get().uri("/api/scheduler?limit=2&cursor={cursor}", first.getNextCursor())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(ScheduleListDTO.class).returnResult().getResponseBody();
+		assertThat(second.getScheduleDTOList()).extracting(ScheduleDTO::getId).containsExactly("c");
+		assertThat(second.getNextCursor()).isNull();
+
+		client.get().uri("/api/scheduler?cursor={cursor}", "not:valid").exchange().expectStatus().isBadRequest();
+	}
+
+	@Test
+	void queryReturnsOnlyTheRequestedFields() {
+		Schedule executed = schedule("a", 1_000);
+		executed.setExecuted(true);
+		when(repository.findMatching(any(), isNull(), anyInt())).thenReturn(Flux.just(executed));
+		when(repository.countMatching(any())).thenReturn(Mono.just(1L));
+
+		client.get().uri("/api/scheduler/query?fields=name,executed")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.scheduleDTOList[0].id").isEqualTo("a")
+				.jsonPath("$.scheduleDTOList[0].name").isEqualTo("a")
+				.jsonPath("$.scheduleDTOList[0].executed").isEqualTo(true)
+				.jsonPath("$.scheduleDTOList[0].startDateTime").doesNotExist()
+				.jsonPath("$.scheduleDTOList[0].attemptCount").doesNotExist()
+				.jsonPath("$.totalCount").isEqualTo(1);
+	}
+
+	@Test
+	void queryRejectsUnknownFields() {
+		client.get().uri("/api/scheduler/query?fields=name,leaseOwner").exchange().expectStatus().isBadRequest();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void bulkImportStreamsOneResultPerRecord() {
+		when(repository.insert(anyIterable())).thenAnswer(invocation ->
+				Flux.fromIterable((Iterable<Schedule>) invocation.getArgument(0)));
+		String body = """
+				{"name":"a","startDateTime":1000}
+				{"startDateTime":2000}
+				{"name":"c","startDateTime":3000}
+				""";
+
+		List<ScheduleImportResultDTO> results = client.post().uri("/api/scheduler/bulk")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.accept(MediaType.APPLICATION_NDJSON)
+				.bodyValue(body)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(ScheduleImportResultDTO.class)
+				.getResponseBody().collectList().block();
+
+		assertThat(results).extracting(ScheduleImportResultDTO::getStatus).containsExactly(
+				ScheduleImportResultDTO.Status.CREATED,
+				ScheduleImportResultDTO.Status.REJECTED,
+				ScheduleImportResultDTO.Status.CREATED);
+		assertThat(results).extracting(ScheduleImportResultDTO::getIndex).containsExactly(0L, 1L, 2L);
+
+		ArgumentCaptor<Iterable<Schedule>> inserted = ArgumentCaptor.forClass(Iterable.class);
+		verify(repository).insert(inserted.capture());
+		assertThat(inserted.getValue()).extracting(Schedule::getName).containsExactly("a", "c");
+	}
+
+	@Test
+	void streamReturnsEverySchedule() {
+		when(repository.streamAll()).thenReturn(Flux.just(schedule("a", 1_000), schedule("b", 2_000)));
+
+		List<ScheduleDTO> schedules = client.get().uri("/api/scheduler?stream=true")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(ScheduleDTO.class)
+				.getResponseBody().collectList().block();
+
+		assertThat(schedules).extracting(ScheduleDTO::getId).containsExactly("a", "b");
+	}
+
+	private static Schedule schedule(String id, long startMillis) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setName(id);
+		schedule.setStartDateTime(new Date(startMillis));
+		return schedule;
+	}
+}
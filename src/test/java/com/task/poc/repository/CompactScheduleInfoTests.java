@@ -0,0 +1,69 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.MissedOccurrencePolicy;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactScheduleInfoTests {
+
+	private final CompactScheduleInfo.Writer writer = new CompactScheduleInfo.Writer();
+	private final CompactScheduleInfo.Reader reader = new CompactScheduleInfo.Reader();
+
+	@Test
+	void writesShortKeysAndOrdinals() {
+		Document document = writer.convert(new ScheduleInfoDTO("Room 1", Category.HEALTH, Priority.HIGH,
+				List.of("a@example.com"), true, "WEEKLY", null, "Europe/Berlin", MissedOccurrencePolicy.CATCH_UP));
+
+		assertThat(document.get(CompactScheduleInfo.CATEGORY)).isEqualTo(Category.HEALTH.ordinal());
+		assertThat(document.get(CompactScheduleInfo.PRIORITY)).isEqualTo(Priority.HIGH.ordinal());
+		assertThat(document.get(CompactScheduleInfo.RECURRING)).isEqualTo(true);
+		assertThat(document).doesNotContainKeys(CompactScheduleInfo.NOTES, CompactScheduleInfo.LEGACY_MARKER, "category");
+	}
+
+	@Test
+	void omitsDefaults() {
+		Document document = writer.convert(new ScheduleInfoDTO());
+
+		assertThat(document).isEmpty();
+	}
+
+	@Test
+	void roundTripKeepsEveryField() {
+		ScheduleInfoDTO info = new ScheduleInfoDTO("Room 1", Category.FINANCE, Priority.CRITICAL,
+				List.of("a@example.com", "b@example.com"), true, "MONTHLY", "Bring the report", "UTC",
+				MissedOccurrencePolicy.SKIP);
+
+		ScheduleInfoDTO read = reader.convert(writer.convert(info));
+
+		assertThat(read).usingRecursiveComparison().isEqualTo(info);
+	}
+
+	@Test
+	void readsDefaultEncoding() {
+		Document legacy = new Document("location", "Room 2")
+				.append("category", "WORK")
+				.append("priority", "LOW")
+				.append("attendees", List.of("a@example.com"))
+				.append(CompactScheduleInfo.LEGACY_MARKER, true)
+				.append("recurrencePattern", "DAILY")
+				.append("missedOccurrencePolicy", "CATCH_UP");
+
+		ScheduleInfoDTO info = reader.convert(legacy);
+
+		assertThat(info.getLocation()).isEqualTo("Room 2");
+		assertThat(info.getCategory()).isEqualTo(Category.WORK);
+		assertThat(info.getPriority()).isEqualTo(Priority.LOW);
+		assertThat(info.getAttendees()).containsExactly("a@example.com");
+		assertThat(info.isRecurring()).isTrue();
+		assertThat(info.getRecurrencePattern()).isEqualTo("DAILY");
+		assertThat(info.getMissedOccurrencePolicy()).isEqualTo(MissedOccurrencePolicy.CATCH_UP);
+		assertThat(info.getTimeZone()).isNull();
+	}
+}
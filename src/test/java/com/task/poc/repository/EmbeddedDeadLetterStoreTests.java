@@ -0,0 +1,69 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.database.DeadLetter;
+import com.task.poc.models.database.Schedule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddedDeadLetterStoreTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedDeadLetterStore store;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		store = open();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		store.close();
+	}
+
+	@Test
+	void latestDeadLettersComeFirst() {
+		store.save(deadLetter("a", 1_000));
+		store.save(deadLetter("b", 3_000));
+		store.save(deadLetter("c", 2_000));
+
+		assertThat(store.findLatest(2)).extracting(DeadLetter::getId).containsExactly("b", "c");
+	}
+
+	@Test
+	void deadLettersSurviveARestart() throws IOException {
+		store.save(deadLetter("a", 1_000));
+		store.save(deadLetter("b", 2_000));
+		store.deleteById("a");
+
+		store.close();
+		store = open();
+
+		assertThat(store.findById("a")).isEmpty();
+		DeadLetter recovered = store.findById("b").orElseThrow();
+		assertThat(recovered.getSchedule().getName()).isEqualTo("b");
+		assertThat(recovered.getLastStatusCode()).isEqualTo(503);
+	}
+
+	private EmbeddedDeadLetterStore open() throws IOException {
+		EmbeddedDeadLetterStore opened = new EmbeddedDeadLetterStore(directory.resolve("dead-letters.log"), 4096, true);
+		opened.open();
+		return opened;
+	}
+
+	private static DeadLetter deadLetter(String id, long deadLetterMillis) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setName(id);
+		return new DeadLetter(id, schedule, 5, 503, null, new Date(deadLetterMillis));
+	}
+}
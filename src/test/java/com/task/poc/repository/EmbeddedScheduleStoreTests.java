@@ -0,0 +1,243 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.database.ScheduleCompletion;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import com.task.poc.util.RecurrenceCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedScheduleStoreTests {
+
+	@TempDir
+	Path directory;
+
+	private static final long HOUR = 3_600_000;
+
+	private static final long DAY = 24 * HOUR;
+
+	private EmbeddedScheduleStore store;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		store = open(Integer.MAX_VALUE);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		store.close();
+	}
+
+	@Test
+	void dueScheduleIsClaimedOnlyOnce() {
+		store.save(schedule("a", 1_000));
+		Date now = new Date(2_000);
+
+		assertThat(store.claimSchedule("a", "node-a", now, new Date(60_000), false)).isNotNull();
+		assertThat(store.claimSchedule("a", "node-b", now, new Date(60_000), false)).isNull();
+		assertThat(store.claimSchedule("a", "node-b", new Date(60_000), new Date(120_000), false)).isNotNull();
+	}
+
+	@Test
+	void updateOnlyWritesRequestFieldsWhileUnleased() {
+		store.save(schedule("a", 1_000));
+		store.claimSchedule("a", "node-a", new Date(2_000), new Date(60_000), false);
+		Schedule changes = schedule("a", 5_000);
+		changes.setName("renamed");
+
+		assertThat(store.updateRequestFields(changes, new Date(3_000))).isNull();
+
+		Schedule updated = store.updateRequestFields(changes, new Date(60_000));
+		assertThat(updated.getName()).isEqualTo("renamed");
+		assertThat(updated.getStartDateTime()).isEqualTo(new Date(5_000));
+		assertThat(updated.getLeaseOwner()).isEqualTo("node-a");
+		assertThat(store.updateRequestFields(schedule("b", 1_000), new Date(60_000))).isNull();
+	}
+
+	@Test
+	void updateThatMovesTheStartRestartsTheSeries() {
+		Schedule daily = recurring("a", 2 * DAY);
+		daily.setSeriesStartDateTime(new Date(DAY));
+		store.save(daily);
+
+		// Renaming keeps the series, moving the start by six hours restarts it
+		Schedule renamed = recurring("a", 2 * DAY);
+		renamed.setName("renamed");
+		assertThat(store.updateRequestFields(renamed, new Date(0)).getSeriesStartDateTime()).isEqualTo(new Date(DAY));
+		Schedule moved = store.updateRequestFields(recurring("a", 2 * DAY + 6 * HOUR), new Date(0));
+		assertThat(moved.getSeriesStartDateTime()).isNull();
+
+		Date now = new Date(2 * DAY + 6 * HOUR + 1_000);
+		Schedule claimed = store.claimSchedule("a", "node-a", now, new Date(now.getTime() + 60_000), false);
+		RecurrenceCalculator.Plan plan = RecurrenceCalculator.plan(claimed, now);
+		store.completeSchedules(List.of(new ScheduleCompletion("a", "node-a", now, claimed.getStartDateTime(),
+				plan.getNextStartDateTime(), plan.getSeriesStartDateTime(), 0, null)));
+
+		Schedule completed = store.findById("a").orElseThrow();
+		assertThat(completed.getStartDateTime()).isEqualTo(new Date(3 * DAY + 6 * HOUR));
+		assertThat(completed.getSeriesStartDateTime()).isEqualTo(new Date(2 * DAY + 6 * HOUR));
+	}
+
+	@Test
+	void partitionsAreRecomputedFromTheId() {
+		store.insertAll(List.of(schedule("a", 1_000), schedule("bb", 1_000)));
+
+		assertThat(store.assignPartitions(id -> id.length() - 1, false)).isEqualTo(1);
+		assertThat(store.findById("bb").orElseThrow().getPartition()).isEqualTo(1);
+		assertThat(store.assignPartitions(id -> id.length() - 1, true)).isZero();
+	}
+
+	@Test
+	void returnedSchedulesAreCopies() {
+		store.save(schedule("a", 1_000));
+		store.findById("a").orElseThrow().setName("changed");
+
+		assertThat(store.findById("a").orElseThrow().getName()).isEqualTo("a");
+	}
+
+	@Test
+	void pendingWindowIsReadInStartOrder() {
+		store.insertAll(List.of(schedule("c", 3_000), schedule("a", 1_000), schedule("b", 2_000), schedule("d", 9_000)));
+
+		try (Stream<Schedule> pending = store.streamPendingSchedulesBetween(Set.of(0), new Date(1_000), new Date(3_000))) {
+			assertThat(pending.map(Schedule::getId)).containsExactly("b", "c");
+		}
+		assertThat(store.findPageAfter(null, 2)).extracting(Schedule::getId).containsExactly("a", "b");
+	}
+
+	@Test
+	void queryFiltersAndPagesInStartOrder() {
+		Schedule executed = schedule("report-1", 1_000);
+		executed.setExecuted(true);
+		store.insertAll(List.of(executed, schedule("report-2", 2_000), schedule("report-3", 3_000),
+				schedule("standup", 2_500), schedule("report-4", 9_000)));
+		ScheduleQuery query = new ScheduleQuery(new Date(1_000), new Date(9_000), null, null, false, "report", null);
+
+		List<Schedule> first = store.findMatching(query, null, 1);
+		assertThat(first).extracting(Schedule::getId).containsExactly("report-2");
+		Schedule last = first.get(0);
+		assertThat(store.findMatching(query, new ScheduleCursor(last.getStartDateTime(), last.getId()), 10))
+				.extracting(Schedule::getId).containsExactly("report-3");
+		assertThat(store.countMatching(query)).isEqualTo(2);
+		assertThat(store.findMatching(new ScheduleQuery(new Date(5_000), new Date(1_000), null, null, null, null, null),
+				null, 10)).isEmpty();
+	}
+
+	@Test
+	void insertRejectsExistingIds() {
+		store.save(schedule("a", 1_000));
+
+		assertThatThrownBy(() -> store.insertAll(List.of(schedule("b", 1_000), schedule("a", 1_000))))
+				.isInstanceOf(DuplicateKeyException.class);
+		assertThat(store.findById("b")).isEmpty();
+	}
+
+	@Test
+	void changesSurviveARestart() throws IOException {
+		store.save(schedule("a", 1_000));
+		store.save(schedule("b", 1_000));
+		store.claimSchedule("a", "node-a", new Date(2_000), new Date(60_000), false);
+		store.completeSchedules(List.of(new ScheduleCompletion("a", "node-a", new Date(2_000), new Date(1_000),
+				null, null, 0, null)));
+		store.deleteById("b");
+
+		store.close();
+		store = open(Integer.MAX_VALUE);
+
+		Schedule recovered = store.findById("a").orElseThrow();
+		assertThat(recovered.isExecuted()).isTrue();
+		assertThat(recovered.getLeaseOwner()).isNull();
+		assertThat(store.findById("b")).isEmpty();
+	}
+
+	@Test
+	void tornRecordIsDiscardedOnRecovery() throws IOException {
+		store.save(schedule("a", 1_000));
+		int end = logSize();
+		store.close();
+
+		// A record header whose payload never made it to disk
+		try (RandomAccessFile file = new RandomAccessFile(logPath().toFile(), "rw")) {
+			file.seek(end);
+			file.writeInt(200);
+			file.writeInt(12345);
+			file.write(new byte[]{1, '{', '"'});
+		}
+
+		store = open(Integer.MAX_VALUE);
+		store.save(schedule("b", 1_000));
+		store.close();
+		store = open(Integer.MAX_VALUE);
+
+		assertThat(store.findById("a")).isPresent();
+		assertThat(store.findById("b")).isPresent();
+	}
+
+	@Test
+	void compactionKeepsOnlyLiveSchedules() throws IOException {
+		store.close();
+		store = open(0);
+		for (int i = 0; i < 10; i++) {
+			store.save(schedule("a", 1_000 + i));
+		}
+		store.save(schedule("b", 1_000));
+		store.deleteById("b");
+		Path log = logPath();
+		int sizeBefore = logSize();
+
+		store.compact();
+
+		assertThat(logSize()).isLessThan(sizeBefore);
+		assertThat(Files.exists(ScheduleLog.compactionPath(log))).isFalse();
+
+		store.close();
+		store = open(0);
+		assertThat(store.findById("a").orElseThrow().getStartDateTime()).isEqualTo(new Date(1_009));
+		assertThat(store.findById("b")).isEmpty();
+	}
+
+	private EmbeddedScheduleStore open(int compactionMinBytes) throws IOException {
+		EmbeddedScheduleStore opened = new EmbeddedScheduleStore(logPath(), 4096, true, compactionMinBytes);
+		opened.open();
+		return opened;
+	}
+
+	private int logSize() {
+		return store.logSize();
+	}
+
+	private Path logPath() {
+		return directory.resolve("schedules.log");
+	}
+
+	private static Schedule schedule(String id, long startMillis) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setName(id);
+		schedule.setStartDateTime(new Date(startMillis));
+		return schedule;
+	}
+
+	private static Schedule recurring(String id, long startMillis) {
+		Schedule schedule = schedule(id, startMillis);
+		schedule.setInfo(new ScheduleInfoDTO(null, null, null, null, true, "DAILY", null, "UTC", null));
+		return schedule;
+	}
+}
@@ -0,0 +1,98 @@
+package com.task.poc.repository;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleCursor;
+import com.task.poc.models.schedule.ScheduleQuery;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulerRepositoryCustomImplTests {
+
+	@Test
+	void categoryAndPriorityMatchBothEncodings() {
+		List<Document> clauses = clauses(new ScheduleQuery(null, null, Category.HEALTH, Priority.HIGH, null, null, null));
+
+		assertThat(clauses.get(0).getList("$or", Document.class)).containsExactly(
+				new Document("info.category", "HEALTH"),
+				new Document("info." + CompactScheduleInfo.CATEGORY, Category.HEALTH.ordinal()));
+		assertThat(clauses.get(1).getList("$or", Document.class)).containsExactly(
+				new Document("info.priority", "HIGH"),
+				new Document("info." + CompactScheduleInfo.PRIORITY, Priority.HIGH.ordinal()));
+	}
+
+	@Test
+	void rangeStatusAndEscapedNamePrefixAreCombined() {
+		List<Document> clauses = clauses(new ScheduleQuery(new Date(1_000), new Date(2_000), null, null, false, "a.b", null));
+
+		assertThat(clauses.get(0).get("startDateTime", Document.class))
+				.containsEntry("$gte", new Date(1_000))
+				.containsEntry("$lt", new Date(2_000));
+		assertThat(clauses.get(1)).containsEntry("executed", false);
+		assertThat(String.valueOf(clauses.get(2).get("name"))).contains("^a\\.b");
+	}
+
+	@Test
+	void pageQueryContinuesAfterCursorWithProjection() {
+		Query query = SchedulerRepositoryCustomImpl.matchingPageQuery(
+				new ScheduleQuery(null, null, null, null, true, null, Set.of("name")),
+				new ScheduleCursor(new Date(1_000), "a"), 50);
+
+		assertThat(query.getQueryObject().getList("$and", Document.class)).hasSize(2);
+		assertThat(query.getFieldsObject()).containsEntry("name", 1).containsEntry("startDateTime", 1);
+		assertThat(query.getSortObject()).containsKeys("startDateTime", "_id");
+		assertThat(query.getLimit()).isEqualTo(50);
+	}
+
+	@Test
+	void updateSetsOnlyRequestFieldsOfUnleasedSchedules() {
+		Schedule changes = new Schedule();
+		changes.setId("a");
+		changes.setName("Name");
+
+		Document query = SchedulerRepositoryCustomImpl.unleasedQuery("a", new Date(1_000)).getQueryObject();
+		Document update = SchedulerRepositoryCustomImpl.requestFieldsUpdate(changes).getUpdateObject();
+
+		assertThat(query).containsEntry("_id", "a").containsKey("$or");
+		assertThat(update).containsOnlyKeys("$set");
+		assertThat(update.get("$set", Document.class))
+				.containsOnlyKeys("name", "startDateTime", "callbackUrl", "info", "updateDate");
+	}
+
+	@Test
+	void updateKeepsTheSeriesOnlyForTheSameStartAndRecurrence() {
+		Schedule changes = new Schedule();
+		changes.setId("a");
+		changes.setStartDateTime(new Date(1_000));
+		changes.setInfo(new ScheduleInfoDTO(null, null, null, null, true, "DAILY", null, "Europe/Berlin", null));
+
+		Document query = SchedulerRepositoryCustomImpl.sameSeriesQuery(changes, new Date(2_000)).getQueryObject();
+		Document restart = SchedulerRepositoryCustomImpl.seriesRestartUpdate(changes).getUpdateObject();
+
+		assertThat(query).containsEntry("_id", "a").containsKey("$or")
+				.containsEntry("startDateTime", new Date(1_000))
+				.containsEntry("info." + CompactScheduleInfo.RECURRING, true)
+				.containsEntry("info." + CompactScheduleInfo.RECURRENCE_PATTERN, "DAILY")
+				.containsEntry("info." + CompactScheduleInfo.TIME_ZONE, "Europe/Berlin");
+		assertThat(restart.get("$unset", Document.class)).containsOnlyKeys("seriesStartDateTime");
+		assertThat(restart.get("$set", Document.class)).containsKeys("startDateTime", "info");
+	}
+
+	@Test
+	void emptyQueryMatchesEverything() {
+		assertThat(SchedulerRepositoryCustomImpl.matchingQuery(new ScheduleQuery(), null).getQueryObject()).isEmpty();
+	}
+
+	private static List<Document> clauses(ScheduleQuery query) {
+		return SchedulerRepositoryCustomImpl.matchingQuery(query, null).getQueryObject().getList("$and", Document.class);
+	}
+}
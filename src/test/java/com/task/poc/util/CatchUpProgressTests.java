@@ -0,0 +1,33 @@
+package com.task.poc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatchUpProgressTests {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	@Test
+	void estimatesFromTheConfiguredRateBeforeAnyProgress() {
+		CatchUpProgress progress = new CatchUpProgress(1_000, 100, clock::get);
+
+		assertThat(progress.remaining()).isEqualTo(1_000);
+		assertThat(progress.etaSeconds()).isEqualTo(10.0);
+	}
+
+	@Test
+	void estimatesFromTheObservedRateOnceReplaying() {
+		CatchUpProgress progress = new CatchUpProgress(1_000, 100, clock::get);
+		for (int i = 0; i < 100; i++) {
+			progress.recordReplayed();
+		}
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+		assertThat(progress.remaining()).isEqualTo(900);
+		assertThat(progress.etaSeconds()).isEqualTo(18.0);
+	}
+}
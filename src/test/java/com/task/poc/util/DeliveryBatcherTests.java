@@ -0,0 +1,87 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.BatchDeliveryRequestDTO;
+import com.task.poc.models.schedule.ScheduleDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeliveryBatcherTests {
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+	private DeliveryBatcher batcher;
+
+	@BeforeEach
+	void setUp() {
+		// Answers 200 for every item except IDs starting with "bad", and omits IDs starting with "lost"
+		DeliveryClient client = new DeliveryClient() {
+			@Override
+			public CompletableFuture<BatchDeliveryResult> postBatch(String targetUrl, BatchDeliveryRequestDTO batch) {
+				List<String> ids = batch.getItems().stream().map(ScheduleDTO::getId).toList();
+				requests.add(targetUrl + " " + ids);
+
+				Map<String, Integer> statuses = new HashMap<>();
+				ids.stream().filter(id -> !id.startsWith("lost"))
+						.forEach(id -> statuses.put(id, id.startsWith("bad") ? 500 : 200));
+				return CompletableFuture.completedFuture(new BatchDeliveryResult(200, 0, statuses));
+			}
+		};
+
+		batcher = new DeliveryBatcher(client, new ScheduleMapper(), new SchedulerMetrics(new SimpleMeterRegistry()), 50, 3);
+		batcher.startTimer();
+	}
+
+	@AfterEach
+	void tearDown() {
+		batcher.stopTimer();
+	}
+
+	@Test
+	void coalescesSchedulesPerTargetWithinTheLingerWindow() throws Exception {
+		CompletableFuture<DeliveryResult> a = batcher.submit("http://one", schedule("a"));
+		CompletableFuture<DeliveryResult> b = batcher.submit("http://one", schedule("b"));
+		CompletableFuture<DeliveryResult> c = batcher.submit("http://two", schedule("c"));
+
+		assertThat(a.get(1, TimeUnit.SECONDS).isSuccessful()).isTrue();
+		assertThat(b.get(1, TimeUnit.SECONDS).isSuccessful()).isTrue();
+		assertThat(c.get(1, TimeUnit.SECONDS).isSuccessful()).isTrue();
+		assertThat(requests).containsExactlyInAnyOrder("http://one [a, b]", "http://two [c]");
+	}
+
+	@Test
+	void fullBatchIsSentWithoutWaitingForTheLinger() {
+		batcher.submit("http://one", schedule("a"));
+		batcher.submit("http://one", schedule("b"));
+		CompletableFuture<DeliveryResult> c = batcher.submit("http://one", schedule("c"));
+
+		assertThat(c).isCompleted();
+		assertThat(requests).containsExactly("http://one [a, b, c]");
+	}
+
+	@Test
+	void eachScheduleGetsItsOwnResult() {
+		batcher.submit("http://one", schedule("ok"));
+		CompletableFuture<DeliveryResult> bad = batcher.submit("http://one", schedule("bad"));
+		CompletableFuture<DeliveryResult> lost = batcher.submit("http://one", schedule("lost"));
+
+		assertThat(bad.join().getStatusCode()).isEqualTo(500);
+		assertThat(lost).isCompletedExceptionally();
+	}
+
+	private static Schedule schedule(String id) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		return schedule;
+	}
+}
@@ -0,0 +1,63 @@
+package com.task.poc.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostCircuitBreakerTests {
+
+	private final HostCircuitBreaker breaker = new HostCircuitBreaker(new SchedulerMetrics(new SimpleMeterRegistry()), 3, 100);
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		for (int i = 0; i < 3; i++) {
+			assertThat(breaker.tryAcquire("a")).isTrue();
+			breaker.onFailure("a");
+		}
+
+		assertThat(breaker.state("a")).isEqualTo(HostCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire("a")).isFalse();
+		assertThat(breaker.retryAt("a")).isGreaterThan(System.currentTimeMillis());
+		assertThat(breaker.tryAcquire("b")).isTrue();
+	}
+
+	@Test
+	void successResetsTheFailureCount() {
+		breaker.onFailure("a");
+		breaker.onFailure("a");
+		breaker.onSuccess("a");
+		breaker.onFailure("a");
+
+		assertThat(breaker.state("a")).isEqualTo(HostCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void letsOneTrialThroughAfterTheOpenPeriod() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			breaker.onFailure("a");
+		}
+		Thread.sleep(150);
+
+		assertThat(breaker.tryAcquire("a")).isTrue();
+		assertThat(breaker.state("a")).isEqualTo(HostCircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquire("a")).isFalse();
+
+		breaker.onSuccess("a");
+		assertThat(breaker.state("a")).isEqualTo(HostCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void failedTrialOpensTheCircuitAgain() throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			breaker.onFailure("a");
+		}
+		Thread.sleep(150);
+
+		assertThat(breaker.tryAcquire("a")).isTrue();
+		breaker.onFailure("a");
+
+		assertThat(breaker.state("a")).isEqualTo(HostCircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire("a")).isFalse();
+	}
+}
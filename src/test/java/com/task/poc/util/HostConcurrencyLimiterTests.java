@@ -0,0 +1,74 @@
+package com.task.poc.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostConcurrencyLimiterTests {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	private final HostConcurrencyLimiter limiter =
+			new HostConcurrencyLimiter(new SchedulerMetrics(new SimpleMeterRegistry()), 4, 1, 8, 0.5, 100);
+
+	@Test
+	void refusesSlotsBeyondTheLimit() {
+		for (int i = 0; i < 4; i++) {
+			assertThat(limiter.tryAcquire("a")).isTrue();
+		}
+
+		assertThat(limiter.tryAcquire("a")).isFalse();
+		assertThat(limiter.tryAcquire("b")).isTrue();
+
+		limiter.release("a");
+		assertThat(limiter.tryAcquire("a")).isTrue();
+		assertThat(limiter.inFlight("a")).isEqualTo(4);
+		assertThat(limiter.inFlight("b")).isEqualTo(1);
+	}
+
+	@Test
+	void growsWhileFastResponsesFillTheLimit() {
+		for (int round = 0; round < 20; round++) {
+			int taken = 0;
+			while (limiter.tryAcquire("a")) {
+				taken++;
+			}
+			for (int i = 0; i < taken; i++) {
+				limiter.release("a", FAST, false);
+			}
+		}
+
+		assertThat(limiter.currentLimit("a")).isEqualTo(8);
+	}
+
+	@Test
+	void shrinksOnSlowOrFailedDeliveries() {
+		limiter.tryAcquire("a");
+		limiter.release("a", SLOW, false);
+		assertThat(limiter.currentLimit("a")).isEqualTo(2);
+
+		limiter.tryAcquire("a");
+		limiter.release("a", FAST, true);
+		limiter.tryAcquire("a");
+		limiter.release("a", FAST, true);
+		assertThat(limiter.currentLimit("a")).isEqualTo(1);
+	}
+
+	@Test
+	void sumsTheLimitsOfHostsBeyondTheTagCap() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		HostConcurrencyLimiter capped = new HostConcurrencyLimiter(new SchedulerMetrics(registry, 1), 4, 1, 8, 0.5, 100);
+		capped.tryAcquire("a");
+		capped.tryAcquire("b");
+		capped.tryAcquire("c");
+
+		assertThat(registry.find("scheduler.delivery.limit").gauges()).hasSize(2);
+		assertThat(registry.get("scheduler.delivery.limit").tag("host", "a").gauge().value()).isEqualTo(4);
+		assertThat(registry.get("scheduler.delivery.limit").tag("host", "other").gauge().value()).isEqualTo(8);
+	}
+}
@@ -0,0 +1,42 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostWaitQueueTests {
+
+	private final HostWaitQueue queue = new HostWaitQueue();
+
+	@Test
+	void releasesSchedulesOfAHostInArrivalOrder() {
+		queue.add("a", schedule("first"));
+		queue.add("b", schedule("other"));
+		queue.add("a", schedule("second"));
+
+		assertThat(queue.size()).isEqualTo(3);
+		assertThat(queue.poll("a").getId()).isEqualTo("first");
+		assertThat(queue.poll("a").getId()).isEqualTo("second");
+		assertThat(queue.poll("a")).isNull();
+		assertThat(queue.size()).isEqualTo(1);
+	}
+
+	@Test
+	void drainTakesEveryScheduleOfTheHost() {
+		queue.add("a", schedule("first"));
+		queue.add("a", schedule("second"));
+		queue.add("b", schedule("other"));
+
+		assertThat(queue.drain("a")).extracting(Schedule::getId).containsExactly("first", "second");
+		assertThat(queue.drain("a")).isEmpty();
+		assertThat(queue.size()).isEqualTo(1);
+		assertThat(queue.poll("b").getId()).isEqualTo("other");
+	}
+
+	private static Schedule schedule(String id) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		return schedule;
+	}
+}
@@ -0,0 +1,87 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.MissedOccurrencePolicy;
+import com.task.poc.models.common.RecurrencePattern;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceCalculatorTests {
+
+	private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+	@Test
+	void dailyKeepsLocalTimeAcrossDstChange() {
+		// 2026-03-28 09:00 CET, the clocks move forward overnight
+		Date start = at(LocalDateTime.of(2026, 3, 28, 9, 0));
+
+		Date next = RecurrenceCalculator.nextOccurrence(start, start, RecurrencePattern.DAILY, BERLIN);
+
+		assertThat(next).isEqualTo(at(LocalDateTime.of(2026, 3, 29, 9, 0)));
+		assertThat(next.getTime() - start.getTime()).isEqualTo(23 * 3_600_000L);
+	}
+
+	@Test
+	void monthlyDoesNotDriftFromSeriesStart() {
+		Date seriesStart = at(LocalDateTime.of(2026, 1, 31, 9, 0));
+		Date february = at(LocalDateTime.of(2026, 2, 28, 9, 0));
+
+		assertThat(RecurrenceCalculator.nextOccurrence(seriesStart, seriesStart, RecurrencePattern.MONTHLY, BERLIN))
+				.isEqualTo(february);
+		assertThat(RecurrenceCalculator.nextOccurrence(seriesStart, february, RecurrencePattern.MONTHLY, BERLIN))
+				.isEqualTo(at(LocalDateTime.of(2026, 3, 31, 9, 0)));
+	}
+
+	@Test
+	void biweeklyStepsTwoWeeks() {
+		Date seriesStart = at(LocalDateTime.of(2026, 5, 4, 9, 0));
+
+		assertThat(RecurrenceCalculator.nextOccurrence(seriesStart, at(LocalDateTime.of(2026, 5, 10, 0, 0)),
+				RecurrencePattern.BIWEEKLY, BERLIN))
+				.isEqualTo(at(LocalDateTime.of(2026, 5, 18, 9, 0)));
+	}
+
+	@Test
+	void missedOccurrencesAreSkippedOrCaughtUpOnce() {
+		Date now = at(LocalDateTime.of(2026, 5, 10, 12, 0));
+		Date expectedNext = at(LocalDateTime.of(2026, 5, 11, 9, 0));
+
+		RecurrenceCalculator.Plan skip = RecurrenceCalculator.plan(
+				daily(at(LocalDateTime.of(2026, 5, 1, 9, 0)), MissedOccurrencePolicy.SKIP), now);
+		assertThat(skip.isSkipDelivery()).isTrue();
+		assertThat(skip.getNextStartDateTime()).isEqualTo(expectedNext);
+
+		RecurrenceCalculator.Plan catchUp = RecurrenceCalculator.plan(
+				daily(at(LocalDateTime.of(2026, 5, 1, 9, 0)), MissedOccurrencePolicy.CATCH_UP), now);
+		assertThat(catchUp.isSkipDelivery()).isFalse();
+		assertThat(catchUp.getNextStartDateTime()).isEqualTo(expectedNext);
+	}
+
+	@Test
+	void oneShotScheduleHasNoNextOccurrence() {
+		Schedule schedule = Schedule.builder().id("id-1").startDateTime(new Date()).info(new ScheduleInfoDTO()).build();
+
+		assertThat(RecurrenceCalculator.plan(schedule, new Date()).getNextStartDateTime()).isNull();
+	}
+
+	private static Schedule daily(Date start, MissedOccurrencePolicy policy) {
+		ScheduleInfoDTO info = new ScheduleInfoDTO();
+		info.setRecurring(true);
+		info.setRecurrencePattern("DAILY");
+		info.setTimeZone(BERLIN.getId());
+		info.setMissedOccurrencePolicy(policy);
+		return Schedule.builder().id("id-1").startDateTime(start).info(info).build();
+	}
+
+	private static Date at(LocalDateTime localDateTime) {
+		Instant instant = localDateTime.atZone(BERLIN).toInstant();
+		return Date.from(instant);
+	}
+}
@@ -0,0 +1,43 @@
+package com.task.poc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTests {
+
+	private final RetryPolicy policy = new RetryPolicy(4, 1_000, 5_000, 2.0);
+
+	@Test
+	void backoffGrowsExponentiallyUpToTheCap() {
+		assertThat(policy.backoffMillis(1)).isEqualTo(1_000);
+		assertThat(policy.backoffMillis(2)).isEqualTo(2_000);
+		assertThat(policy.backoffMillis(3)).isEqualTo(4_000);
+		assertThat(policy.backoffMillis(4)).isEqualTo(5_000);
+		assertThat(policy.backoffMillis(30)).isEqualTo(5_000);
+	}
+
+	@Test
+	void nextAttemptIsJitteredWithinTheBackoff() {
+		Date now = new Date(0);
+		for (int i = 0; i < 100; i++) {
+			assertThat(policy.nextAttemptAt(3, now).getTime()).isBetween(2_000L, 4_000L);
+		}
+	}
+
+	@Test
+	void stopsAfterTheLastAttempt() {
+		assertThat(policy.hasAttemptsLeft(3)).isTrue();
+		assertThat(policy.hasAttemptsLeft(4)).isFalse();
+	}
+
+	@Test
+	void onlyTransientFailuresAreRetried() {
+		assertThat(policy.isRetryable(null, new RuntimeException("timeout"))).isTrue();
+		assertThat(policy.isRetryable(new DeliveryResult(503, 0), null)).isTrue();
+		assertThat(policy.isRetryable(new DeliveryResult(429, 0), null)).isTrue();
+		assertThat(policy.isRetryable(new DeliveryResult(404, 0), null)).isFalse();
+	}
+}
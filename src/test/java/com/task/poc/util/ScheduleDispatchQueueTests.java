@@ -0,0 +1,137 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleDispatchQueueTests {
+
+	// Tasks handed to the executor, run one by one by the test
+	private final Queue<Runnable> executor = new ArrayDeque<>();
+	private final List<String> ran = new ArrayList<>();
+
+	@Test
+	void higherPrioritiesGoFirstThenEarlierStartTimes() {
+		ScheduleDispatchQueue queue = queue(Map.of());
+		offer(queue, "blocker", Priority.LOW, Category.WORK, 0);
+		offer(queue, "low", Priority.LOW, Category.WORK, 1);
+		offer(queue, "high-late", Priority.HIGH, Category.WORK, 3);
+		offer(queue, "critical", Priority.CRITICAL, Category.WORK, 4);
+		offer(queue, "high-early", Priority.HIGH, Category.WORK, 2);
+
+		runAll();
+
+		assertThat(ran).containsExactly("blocker", "critical", "high-early", "high-late", "low");
+	}
+
+	@Test
+	void categoriesShareByWeight() {
+		ScheduleDispatchQueue queue = queue(Map.of(Category.WORK, 2));
+		offer(queue, "blocker", Priority.LOW, Category.OTHER, 0);
+		for (int i = 1; i <= 6; i++) {
+			offer(queue, "work-" + i, Priority.MEDIUM, Category.WORK, i);
+		}
+		for (int i = 1; i <= 3; i++) {
+			offer(queue, "health-" + i, Priority.MEDIUM, Category.HEALTH, i);
+		}
+
+		runAll();
+
+		// Within every three dispatches WORK gets two and HEALTH one, instead of HEALTH waiting for all of WORK
+		assertThat(ran.subList(1, 4)).filteredOn(id -> id.startsWith("work")).hasSize(2);
+		assertThat(ran.subList(4, 7)).filteredOn(id -> id.startsWith("work")).hasSize(2);
+		assertThat(ran.subList(7, 10)).filteredOn(id -> id.startsWith("work")).hasSize(2);
+	}
+
+	@Test
+	void handsOverNoMoreThanMaxRunning() {
+		ScheduleDispatchQueue queue = queue(Map.of());
+		offer(queue, "a", Priority.LOW, Category.WORK, 0);
+		offer(queue, "b", Priority.LOW, Category.WORK, 1);
+
+		assertThat(executor).hasSize(1);
+		assertThat(queue.size()).isEqualTo(1);
+	}
+
+	@Test
+	void holdsTheSlotUntilTheTaskCompletes() {
+		ScheduleDispatchQueue queue = queue(Map.of());
+		CompletableFuture<Void> delivery = new CompletableFuture<>();
+		Schedule schedule = schedule("a", Priority.LOW, Category.WORK, 0);
+		queue.offer(schedule, () -> delivery);
+		offer(queue, "b", Priority.LOW, Category.WORK, 1);
+
+		executor.poll().run();
+		assertThat(queue.running()).isEqualTo(1);
+		assertThat(executor).isEmpty();
+
+		delivery.complete(null);
+		assertThat(executor).hasSize(1);
+		assertThat(queue.size()).isZero();
+	}
+
+	@Test
+	void refusesOffersBeyondCapacity() {
+		ScheduleDispatchQueue queue = queue(Map.of(), 3);
+		for (int i = 0; i < 4; i++) {
+			offer(queue, "s" + i, Priority.LOW, Category.WORK, i);
+		}
+
+		assertThat(offer(queue, "overflow", Priority.CRITICAL, Category.WORK, 0)).isFalse();
+		assertThat(queue.size()).isEqualTo(3);
+
+		executor.poll().run();
+		assertThat(offer(queue, "overflow", Priority.CRITICAL, Category.WORK, 0)).isTrue();
+	}
+
+	@Test
+	void parsesCategoryWeights() {
+		assertThat(ScheduleDispatchQueue.parseWeights("WORK=3, health=2,unknown=4,FINANCE=x"))
+				.containsExactlyInAnyOrderEntriesOf(Map.of(Category.WORK, 3, Category.HEALTH, 2));
+	}
+
+	private ScheduleDispatchQueue queue(Map<Category, Integer> weights) {
+		return queue(weights, 100);
+	}
+
+	private ScheduleDispatchQueue queue(Map<Category, Integer> weights, int capacity) {
+		return new ScheduleDispatchQueue(executor::add, 1, capacity, weights, new SchedulerMetrics(new SimpleMeterRegistry()));
+	}
+
+	private boolean offer(ScheduleDispatchQueue queue, String id, Priority priority, Category category, long start) {
+		return queue.offer(schedule(id, priority, category, start), () -> {
+			ran.add(id);
+			return CompletableFuture.completedFuture(null);
+		});
+	}
+
+	private static Schedule schedule(String id, Priority priority, Category category, long start) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setStartDateTime(new Date(start));
+		ScheduleInfoDTO info = new ScheduleInfoDTO();
+		info.setPriority(priority);
+		info.setCategory(category);
+		schedule.setInfo(info);
+		return schedule;
+	}
+
+	private void runAll() {
+		while (!executor.isEmpty()) {
+			executor.poll().run();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.task.poc.util;
+
+import com.task.poc.models.common.Category;
+import com.task.poc.models.common.MissedOccurrencePolicy;
+import com.task.poc.models.common.Priority;
+import com.task.poc.models.common.ScheduleInfoDTO;
+import com.task.poc.models.database.Schedule;
+import com.task.poc.models.schedule.ScheduleDTO;
+import com.task.poc.models.schedule.ScheduleRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleMapperTests {
+
+	private final ScheduleMapper mapper = new ScheduleMapper();
+
+	@Test
+	void updateOnlyTouchesRequestFields() {
+		Date created = new Date(1_000);
+		ScheduleInfoDTO existingInfo = info("Room 1");
+		Schedule schedule = Schedule.builder()
+				.id("id-1")
+				.name("Old")
+				.startDateTime(new Date(2_000))
+				.createDate(created)
+				.executed(true)
+				.info(existingInfo)
+				.build();
+
+		ScheduleInfoDTO requestInfo = info("Room 2");
+		requestInfo.setTimeZone("America/New_York");
+		requestInfo.setMissedOccurrencePolicy(MissedOccurrencePolicy.SKIP);
+		ScheduleRequestDTO request = new ScheduleRequestDTO("New", new Date(3_000), requestInfo, null);
+		mapper.updateSchedule(request, schedule);
+
+		assertThat(schedule.getId()).isEqualTo("id-1");
+		assertThat(schedule.getCreateDate()).isEqualTo(created);
+		assertThat(schedule.isExecuted()).isTrue();
+		assertThat(schedule.getName()).isEqualTo("New");
+		assertThat(schedule.getStartDateTime()).isEqualTo(new Date(3_000));
+		assertThat(schedule.getInfo()).isSameAs(existingInfo);
+		assertThat(schedule.getInfo().getLocation()).isEqualTo("Room 2");
+		assertThat(schedule.getInfo().getTimeZone()).isEqualTo("America/New_York");
+		assertThat(schedule.getInfo().getMissedOccurrencePolicy()).isEqualTo(MissedOccurrencePolicy.SKIP);
+	}
+
+	@Test
+	void toScheduleCopiesInfo() {
+		ScheduleRequestDTO request = new ScheduleRequestDTO("New", new Date(), info("Room 1"), "http://example.com/hook");
+
+		Schedule schedule = mapper.toSchedule(request);
+
+		assertThat(schedule.getInfo()).isNotSameAs(request.getInfo());
+		assertThat(schedule.getInfo().getAttendees()).containsExactly("alice@example.com");
+		assertThat(schedule.getInfo().isRecurring()).isTrue();
+		assertThat(schedule.getInfo().getTimeZone()).isEqualTo("Europe/Berlin");
+		assertThat(schedule.getInfo().getMissedOccurrencePolicy()).isEqualTo(MissedOccurrencePolicy.CATCH_UP);
+		assertThat(schedule.getCallbackUrl()).isEqualTo("http://example.com/hook");
+	}
+
+	@Test
+	void toDtoCopiesAllFields() {
+		Date now = new Date();
+		Schedule schedule = Schedule.builder()
+				.id("id-1").name("Name").startDateTime(now).createDate(now).updateDate(now).info(info("Room 1"))
+				.build();
+
+		ScheduleDTO dto = mapper.toDto(schedule);
+
+		assertThat(dto.getId()).isEqualTo("id-1");
+		assertThat(dto.getName()).isEqualTo("Name");
+		assertThat(dto.getStartDateTime()).isEqualTo(now);
+		assertThat(dto.getCreateDate()).isEqualTo(now);
+		assertThat(dto.getUpdateDate()).isEqualTo(now);
+		assertThat(dto.getInfo().getLocation()).isEqualTo("Room 1");
+		assertThat(dto.getExecuted()).isFalse();
+		assertThat(dto.getAttemptCount()).isZero();
+	}
+
+	@Test
+	void projectedDtoLeavesOutUnrequestedFields() {
+		Date now = new Date();
+		Schedule schedule = Schedule.builder()
+				.id("id-1").name("Name").startDateTime(now).executed(true).info(info("Room 1"))
+				.build();
+
+		ScheduleDTO dto = mapper.toDto(schedule, Set.of("name", "executed"));
+
+		assertThat(dto.getId()).isEqualTo("id-1");
+		assertThat(dto.getName()).isEqualTo("Name");
+		assertThat(dto.getExecuted()).isTrue();
+		assertThat(dto.getStartDateTime()).isNull();
+		assertThat(dto.getInfo()).isNull();
+		assertThat(dto.getAttemptCount()).isNull();
+		assertThat(mapper.toDto(schedule, Set.of()).getAttemptCount()).isZero();
+	}
+
+	private static ScheduleInfoDTO info(String location) {
+		return new ScheduleInfoDTO(location, Category.WORK, Priority.HIGH, List.of("alice@example.com"),
+				true, "WEEKLY", "Notes", "Europe/Berlin", MissedOccurrencePolicy.CATCH_UP);
+	}
+}
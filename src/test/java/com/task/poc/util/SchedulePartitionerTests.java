@@ -0,0 +1,38 @@
+package com.task.poc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchedulePartitionerTests {
+
+	private final SchedulePartitioner partitioner = new SchedulePartitioner(16);
+
+	@Test
+	void sameIdAlwaysMapsToTheSamePartition() {
+		String id = UUID.randomUUID().toString();
+
+		assertThat(partitioner.partitionOf(id)).isEqualTo(new SchedulePartitioner(16).partitionOf(id));
+	}
+
+	@Test
+	void spreadsIdsOverAllPartitions() {
+		int[] counts = new int[16];
+		for (int i = 0; i < 16_000; i++) {
+			counts[partitioner.partitionOf(UUID.randomUUID().toString())]++;
+		}
+
+		// Every partition gets roughly its 1000 share
+		for (int count : counts) {
+			assertThat(count).isBetween(800, 1200);
+		}
+	}
+
+	@Test
+	void rejectsAnEmptyPartitionSpace() {
+		assertThatThrownBy(() -> new SchedulePartitioner(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,78 @@
+package com.task.poc.util;
+
+import com.task.poc.models.database.Schedule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleTimingWheelTests {
+
+	private final Map<String, Long> firedAt = new ConcurrentHashMap<>();
+	private final CountDownLatch latch = new CountDownLatch(1);
+	private ScheduleTimingWheel wheel;
+
+	@BeforeEach
+	void setUp() {
+		wheel = new ScheduleTimingWheel(5, 64, schedule -> {
+			firedAt.put(schedule.getId(), System.currentTimeMillis());
+			latch.countDown();
+		});
+		wheel.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		wheel.stop();
+	}
+
+	@Test
+	void firesScheduleNoEarlierThanItsStartTime() throws InterruptedException {
+		long due = System.currentTimeMillis() + 200;
+		wheel.schedule(schedule("a", due));
+
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(firedAt.get("a")).isBetween(due, due + 100);
+		assertThat(wheel.contains("a")).isFalse();
+	}
+
+	@Test
+	void firesOverdueScheduleOnNextTick() throws InterruptedException {
+		wheel.schedule(schedule("a", System.currentTimeMillis() - 60_000));
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void cancelledScheduleDoesNotFire() throws InterruptedException {
+		wheel.schedule(schedule("a", System.currentTimeMillis() + 50));
+
+		assertThat(wheel.cancel("a")).isTrue();
+		assertThat(latch.await(300, TimeUnit.MILLISECONDS)).isFalse();
+	}
+
+	@Test
+	void reschedulingMovesTheExistingEntry() throws InterruptedException {
+		long due = System.currentTimeMillis() + 250;
+		wheel.schedule(schedule("a", System.currentTimeMillis() + 50));
+		wheel.schedule(schedule("a", due));
+
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(firedAt.get("a")).isGreaterThanOrEqualTo(due);
+	}
+
+	private static Schedule schedule(String id, long startMillis) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setStartDateTime(new Date(startMillis));
+		return schedule;
+	}
+}
@@ -0,0 +1,55 @@
+package com.task.poc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+	@Test
+	void burstIsAvailableImmediately() {
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void tokensAccrueAtTheConfiguredRate() {
+		drain();
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+		assertThat(bucket.tryAcquire()).isFalse();
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+		assertThat(bucket.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void reservationsQueueUpBehindEachOther() {
+		drain();
+
+		assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+	}
+
+	@Test
+	void idleTimeSavesAtMostTheBurst() {
+		drain();
+
+		clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+		drain();
+		assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+	}
+
+	private void drain() {
+		while (bucket.tryAcquire()) {
+			// Take every saved token
+		}
+	}
+}